@@ -0,0 +1,140 @@
+package ru.itone.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itone.model.board.Board;
+import ru.itone.model.board.BoardMapper;
+import ru.itone.model.board.dto.BoardDto;
+import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.EpicMapper;
+import ru.itone.model.epic.EpicStatus;
+import ru.itone.model.epic.comment.Comment;
+import ru.itone.model.epic.comment.CommentMapper;
+import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.epic.comment.dto.CommentResponseDto;
+import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.task.Task;
+import ru.itone.model.task.dto.TaskDto;
+import ru.itone.model.user.User;
+import ru.itone.model.user.UserMapper;
+import ru.itone.model.user.dto.RegisterFormDto;
+import ru.itone.model.user.dto.UserResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измеряет пропускную способность и выделение памяти при преобразовании сущностей в DTO объекты
+ * и при вычислении статуса эпиков.
+ * Доска с taskCount задачами строится в памяти без базы данных: задачи распределены по эпикам
+ * по TASKS_PER_EPIC, на каждые TASKS_PER_USER задач приходится один участник доски.
+ * Отдельно строится эпик, содержащий все taskCount задач.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private static final int TASKS_PER_EPIC = 100;
+    private static final int USERS_PER_EPIC = 5;
+    private static final int TASKS_PER_USER = 10;
+    private static final int COMMENTS_PER_EPIC = 5;
+
+    @Param({"10", "1000", "100000"})
+    private int taskCount;
+
+    private Board board;
+    private Epic epic;
+    private List<User> users;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, taskCount / TASKS_PER_USER); i++) {
+            User user = new User(new RegisterFormDto("Имя", "Фамилия", "user" + i + "@example.com", "12345"));
+            user.setId(UUID.randomUUID());
+            users.add(user);
+        }
+
+        board = new Board(new BoardDto("Доска"));
+        board.setId(UUID.randomUUID());
+        users.forEach(board::addUser);
+
+        comments = new ArrayList<>();
+        for (int created = 0; created < taskCount; created += TASKS_PER_EPIC) {
+            Epic boardEpic = createEpic(Math.min(TASKS_PER_EPIC, taskCount - created));
+            board.addEpic(boardEpic);
+            comments.addAll(boardEpic.getActivity());
+        }
+
+        epic = createEpic(taskCount);
+    }
+
+    @Benchmark
+    public EpicResponseDto epicToResponseDto() {
+        return EpicMapper.toEpicResponseDto(epic);
+    }
+
+    @Benchmark
+    public BoardResponseDto boardToResponseDto() {
+        return BoardMapper.toBoardResponseDto(board);
+    }
+
+    @Benchmark
+    public List<CommentResponseDto> commentsToResponseDtoList() {
+        return CommentMapper.toCommentResponseDtoList(comments);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> usersToResponseDtoList() {
+        return UserMapper.toUserResponseDtoList(board.getUsers());
+    }
+
+    @Benchmark
+    public void epicStatus(Blackhole blackhole) {
+        for (Epic boardEpic : board.getEpics()) {
+            blackhole.consume(EpicStatus.of(boardEpic.getTotalTasks(), boardEpic.getCompletedTasks()));
+        }
+    }
+
+    private Epic createEpic(int tasks) {
+        Epic newEpic = new Epic(new EpicDto("Эпик", "Описание", LocalDateTime.now().plusDays(1)), board);
+        newEpic.setId(UUID.randomUUID());
+
+        int completed = 0;
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task(new TaskDto("Задача " + i), newEpic);
+            task.setId(UUID.randomUUID());
+            task.setIsCompleted(i % 3 == 0);
+            newEpic.getTasks().add(task);
+
+            if (task.getIsCompleted()) {
+                completed++;
+            }
+        }
+
+        newEpic.setTotalTasks(tasks);
+        newEpic.setCompletedTasks(completed);
+        newEpic.setStatus(EpicStatus.of(tasks, completed));
+
+        for (int i = 0; i < USERS_PER_EPIC; i++) {
+            newEpic.addUser(users.get(i % users.size()));
+        }
+
+        for (int i = 0; i < COMMENTS_PER_EPIC; i++) {
+            Comment comment = new Comment(new CommentDto("Комментарий " + i), users.get(i % users.size()), newEpic);
+            comment.setId(UUID.randomUUID());
+            newEpic.addComment(comment);
+        }
+
+        return newEpic;
+    }
+}
@@ -0,0 +1,252 @@
+package ru.itone.loadTest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itone.loadTest.LoadTestDataset.SeededBoard;
+import ru.itone.loadTest.LoadTestDataset.SeededEpic;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочный тест HTTP API. Приложение запускается со встроенным сервером, база данных заполняется
+ * набором LoadTestDataset, после чего LoadTestProperties.workers потоков отправляют запросы
+ * в соотношении, заданном весами операций, с заголовком X-User-Id участника соответствующей доски.
+ * Отчёт с пропускной способностью и перцентилями времени ответа по каждой операции выводится в журнал.
+ * <p>
+ * Запуск: mvn -P load-test test -Dload-test.duration=60s -Dload-test.workers=32
+ * <p>
+ * Тест выполняется с пулом потоков Tomcat, VirtualThreadHttpLoadTest повторяет его с виртуальными потоками.
+ * Для сравнения режимов количество workers должно превышать размер пула потоков Tomcat (200),
+ * результаты сравнения на Java 21 - в src/load-test/virtual-threads-report.txt.
+ */
+@Slf4j
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "logging.level.ru.itone=WARN",
+                "logging.level.org.springframework.orm.jpa=WARN",
+                "logging.level.org.springframework.transaction=WARN"
+        }
+)
+@ActiveProfiles("test")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class HttpLoadTest {
+    private final List<Operation> operations = List.of(
+            new Operation("GET /board", 5, c -> get("/board?size=10", c.member())),
+            new Operation("GET /board/{boardId}", 10, c -> get("/board/" + c.board.getId(), c.member())),
+            new Operation("GET /epic/all/{boardId}", 10, c -> get("/epic/all/" + c.board.getId(), c.member())),
+            new Operation("GET /epic/{epicId}", 20, c -> get("/epic/" + c.epic.getId(), c.member())),
+            new Operation("GET /epic/{epicId}/comments", 15, c -> get("/epic/" + c.epic.getId() + "/comments", c.member())),
+            new Operation("GET /task/all/{epicId}", 10, c -> get("/task/all/" + c.epic.getId(), c.member())),
+            new Operation("GET /task/{taskId}", 10, c -> get("/task/" + c.task(), c.member())),
+            new Operation("GET /user/{userId}", 5, c -> get("/user/" + c.member(), c.member())),
+            new Operation("GET /user/get-invitations", 3, c -> get("/user/get-invitations", c.user())),
+            new Operation("POST /epic/{epicId}/comment", 7, c -> post(
+                    "/epic/" + c.epic.getId() + "/comment",
+                    c.member(),
+                    "{\"text\": \"Комментарий нагрузочного теста\"}")),
+            new Operation("POST /task/{epicId}", 3, c -> post(
+                    "/task/" + c.epic.getId(),
+                    c.member(),
+                    "{\"description\": \"Задача нагрузочного теста\"}")),
+            new Operation("PATCH /task/{epicId}/{taskId}", 2, c -> patch(
+                    "/task/" + c.epic.getId() + "/" + c.task() + "?completed=" + c.random.nextBoolean(),
+                    c.board.getOwnerId()))
+    );
+
+    private final LoadTestProperties properties;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${task-tracker.virtual-threads.enabled}")
+    private boolean virtualThreads;
+
+    private LoadTestDataset dataset;
+
+    @BeforeEach
+    public void setUp() {
+        long started = System.nanoTime();
+        dataset = LoadTestDataset.seed(properties, entityManager, new TransactionTemplate(transactionManager));
+
+        log.warn("Набор данных создан за {} мс: пользователей {}, досок {}, эпиков на доске {}, задач в эпике {}, " +
+                        "комментариев в эпике {}.",
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                properties.getUsers(), properties.getBoards(), properties.getEpicsPerBoard(),
+                properties.getTasksPerEpic(), properties.getCommentsPerEpic());
+    }
+
+    /**
+     * Удаляет набор данных: контекст VirtualThreadHttpLoadTest использует ту же базу данных в памяти.
+     * Эпики, задачи, комментарии, приглашения, права и участники удаляются вместе с досками по внешним ключам.
+     */
+    @AfterEach
+    public void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM Boards").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM Users").executeUpdate();
+        });
+    }
+
+    @Test
+    public void runTheRequestMixAndReportLatencyPerEndpoint() throws Exception {
+        LatencyReport report = new LatencyReport();
+
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long deadline = measureFrom + properties.getDuration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getWorkers());
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            Random random = new Random(properties.getSeed() + i);
+            workers.add(executor.submit(() -> {
+                runWorker(random, measureFrom, deadline, report);
+                return null;
+            }));
+        }
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        log.warn("Нагрузочный тест ({}): потоков {}, прогрев {}, измерение {}.{}",
+                virtualThreads ? "виртуальные потоки" : "пул потоков Tomcat",
+                properties.getWorkers(), properties.getWarmup(), properties.getDuration(),
+                report.format(properties.getDuration()));
+
+        assertEquals(0, report.getErrors(), "Запросы завершились ошибкой, подробности в журнале.");
+    }
+
+    private void runWorker(Random random, long measureFrom, long deadline, LatencyReport report)
+            throws IOException, InterruptedException {
+        int totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            HttpRequest request = operation.request.apply(new RequestContext(random, dataset));
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - now;
+
+            boolean successful = response.statusCode() / 100 == 2;
+            if (!successful) {
+                log.warn("{} {}: {} {}", request.method(), request.uri(), response.statusCode(), response.body());
+            }
+
+            if (now >= measureFrom) {
+                report.record(operation.name, latency, successful);
+            }
+        }
+    }
+
+    private Operation pick(int point) {
+        for (Operation operation : operations) {
+            point -= operation.weight;
+            if (point < 0) {
+                return operation;
+            }
+        }
+
+        throw new IllegalStateException();
+    }
+
+    private HttpRequest get(String path, UUID userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, UUID userId, String body) {
+        return request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest patch(String path, UUID userId) {
+        return request(path, userId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, UUID userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-User-Id", userId.toString())
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private static class Operation {
+        private final String name;
+        private final int weight;
+        private final Function<RequestContext, HttpRequest> request;
+
+        Operation(String name, int weight, Function<RequestContext, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Случайно выбранные доска и эпик, для которых строится очередной запрос.
+     */
+    private static class RequestContext {
+        private final Random random;
+        private final LoadTestDataset dataset;
+        private final SeededBoard board;
+        private final SeededEpic epic;
+
+        RequestContext(Random random, LoadTestDataset dataset) {
+            this.random = random;
+            this.dataset = dataset;
+            this.board = dataset.getBoards().get(random.nextInt(dataset.getBoards().size()));
+            this.epic = board.getEpics().get(random.nextInt(board.getEpics().size()));
+        }
+
+        UUID member() {
+            return board.getMemberIds().get(random.nextInt(board.getMemberIds().size()));
+        }
+
+        UUID user() {
+            return dataset.getUserIds().get(random.nextInt(dataset.getUserIds().size()));
+        }
+
+        UUID task() {
+            return epic.getTaskIds().get(random.nextInt(epic.getTaskIds().size()));
+        }
+    }
+}
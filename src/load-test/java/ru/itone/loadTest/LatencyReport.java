@@ -0,0 +1,77 @@
+package ru.itone.loadTest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Собирает время ответа и количество ошибок по операциям нагрузочного теста
+ * и формирует отчёт с пропускной способностью и перцентилями p50/p95/p99.
+ */
+public class LatencyReport {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    public void record(String operation, long latencyNanos, boolean successful) {
+        latencies.computeIfAbsent(operation, name -> new ConcurrentHistogram(MAX_LATENCY_NANOS, 3))
+                .recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+
+        if (!successful) {
+            errors.computeIfAbsent(operation, name -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public long getErrors() {
+        return errors.values().stream()
+                .mapToLong(AtomicLong::get)
+                .sum();
+    }
+
+    public String format(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%n%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Операция", "Запросов", "Ошибок", "Запр./с", "p50, мс", "p95, мс", "p99, мс", "max, мс"));
+
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+
+        latencies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram histogram = entry.getValue().copy();
+                    total.add(histogram);
+                    report.append(line(entry.getKey(), histogram, errorsOf(entry.getKey()), seconds));
+                });
+
+        report.append(line("Всего", total, getErrors(), seconds));
+
+        return report.toString();
+    }
+
+    private long errorsOf(String operation) {
+        AtomicLong count = errors.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    private static String line(String operation, Histogram histogram, long errors, double seconds) {
+        return String.format("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operation,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.itone.loadTest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itone.model.board.Board;
+import ru.itone.model.board.dto.BoardDto;
+import ru.itone.model.board.invite.Invite;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.EpicStatus;
+import ru.itone.model.epic.comment.Comment;
+import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.task.Task;
+import ru.itone.model.task.dto.TaskDto;
+import ru.itone.model.user.Entitlement;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.User;
+import ru.itone.model.user.dto.RegisterFormDto;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Набор данных нагрузочного теста: пользователи, доски с участниками и приглашениями, эпики, задачи и комментарии.
+ * Состав участников, исполнителей, выполненных задач и авторов комментариев выбирается генератором случайных чисел
+ * с начальным значением LoadTestProperties.seed, поэтому структура данных воспроизводится от запуска к запуску.
+ */
+@Getter
+public class LoadTestDataset {
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<SeededBoard> boards = new ArrayList<>();
+
+    public static LoadTestDataset seed(LoadTestProperties properties,
+                                       EntityManager entityManager,
+                                       TransactionTemplate transaction) {
+        LoadTestDataset dataset = new LoadTestDataset();
+        Random random = new Random(properties.getSeed());
+
+        List<User> users = new ArrayList<>();
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < properties.getUsers(); i++) {
+                User user = new User(new RegisterFormDto("Имя", "Фамилия", "load" + i + "@example.com", "12345"));
+                entityManager.persist(user);
+                users.add(user);
+                dataset.userIds.add(user.getId());
+            }
+        });
+
+        for (int b = 0; b < properties.getBoards(); b++) {
+            int boardIndex = b;
+            transaction.executeWithoutResult(status -> {
+                dataset.boards.add(seedBoard(properties, boardIndex, users, random, entityManager));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        return dataset;
+    }
+
+    private static SeededBoard seedBoard(LoadTestProperties properties,
+                                         int boardIndex,
+                                         List<User> users,
+                                         Random random,
+                                         EntityManager entityManager) {
+        List<User> shuffled = new ArrayList<>(users);
+        Collections.shuffle(shuffled, random);
+
+        int memberCount = Math.min(properties.getMembersPerBoard(), shuffled.size());
+        List<User> members = new ArrayList<>();
+        for (User user : shuffled.subList(0, memberCount)) {
+            members.add(entityManager.merge(user));
+        }
+
+        Board board = new Board(new BoardDto("Доска " + boardIndex));
+        members.forEach(board::addUser);
+        entityManager.persist(board);
+
+        for (int i = 0; i < members.size(); i++) {
+            EntitlementEnum entitlement = i == 0 ? EntitlementEnum.OWNER : EntitlementEnum.EDITOR;
+            entityManager.persist(new Entitlement(board, members.get(i), entitlement));
+        }
+
+        int invitationCount = Math.min(properties.getInvitationsPerBoard(), shuffled.size() - memberCount);
+        for (User user : shuffled.subList(memberCount, memberCount + invitationCount)) {
+            entityManager.persist(new Invite(entityManager.merge(user), board));
+        }
+
+        SeededBoard seededBoard = new SeededBoard(
+                board.getId(),
+                members.get(0).getId(),
+                members.stream().map(User::getId).collect(Collectors.toList())
+        );
+
+        for (int e = 0; e < properties.getEpicsPerBoard(); e++) {
+            Epic epic = new Epic(new EpicDto("Эпик " + e, "Описание", LocalDateTime.now().plusDays(30)), board);
+            for (int i = 0; i < random.nextInt(4); i++) {
+                epic.addUser(members.get(random.nextInt(members.size())));
+            }
+
+            List<Task> tasks = new ArrayList<>();
+            int completed = 0;
+            for (int t = 0; t < properties.getTasksPerEpic(); t++) {
+                Task task = new Task(new TaskDto("Задача " + t), epic);
+                task.setIsCompleted(random.nextInt(10) < 3);
+                tasks.add(task);
+
+                if (task.getIsCompleted()) {
+                    completed++;
+                }
+            }
+
+            epic.setTotalTasks(tasks.size());
+            epic.setCompletedTasks(completed);
+            epic.setStatus(EpicStatus.of(tasks.size(), completed));
+            entityManager.persist(epic);
+            board.addEpic(epic);
+            tasks.forEach(entityManager::persist);
+
+            for (int c = 0; c < properties.getCommentsPerEpic(); c++) {
+                User author = members.get(random.nextInt(members.size()));
+                entityManager.persist(new Comment(new CommentDto("Комментарий " + c), author, epic));
+            }
+
+            seededBoard.getEpics().add(new SeededEpic(
+                    epic.getId(),
+                    tasks.stream().map(Task::getId).collect(Collectors.toList())
+            ));
+        }
+
+        return seededBoard;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SeededBoard {
+        private final UUID id;
+        private final UUID ownerId;
+        private final List<UUID> memberIds;
+        private final List<SeededEpic> epics = new ArrayList<>();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SeededEpic {
+        private final UUID id;
+        private final List<UUID> taskIds;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.itone.loadTest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Параметры нагрузочного теста. Задаются системными свойствами, например -Dload-test.workers=32.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "load-test")
+public class LoadTestProperties {
+    /**
+     * Начальное значение генератора случайных чисел. Одинаковое значение даёт одинаковый набор данных
+     * и одинаковую последовательность запросов каждого потока.
+     */
+    private long seed = 42;
+
+    private int users = 200;
+
+    private int boards = 20;
+
+    private int membersPerBoard = 10;
+
+    private int invitationsPerBoard = 2;
+
+    private int epicsPerBoard = 10;
+
+    private int tasksPerEpic = 50;
+
+    private int commentsPerEpic = 20;
+
+    /**
+     * Количество потоков, одновременно отправляющих запросы.
+     */
+    private int workers = 16;
+
+    /**
+     * Время прогрева. Запросы, выполненные во время прогрева, в отчёт не попадают.
+     */
+    private Duration warmup = Duration.ofSeconds(5);
+
+    private Duration duration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,23 @@
+package ru.itone.loadTest;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Нагрузочный тест HttpLoadTest с обработкой запросов в виртуальных потоках.
+ * Выполняется только на Java 21 или новее.
+ */
+@TestPropertySource(properties = "task-tracker.virtual-threads.enabled=true")
+@EnabledIf("ru.itone.config.VirtualThreads#isSupported")
+public class VirtualThreadHttpLoadTest extends HttpLoadTest {
+    @Autowired
+    public VirtualThreadHttpLoadTest(LoadTestProperties properties,
+                                     EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager) {
+        super(properties, entityManager, transactionManager);
+    }
+}
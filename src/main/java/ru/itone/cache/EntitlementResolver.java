@@ -0,0 +1,183 @@
+package ru.itone.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.itone.config.CacheProperties;
+import ru.itone.exception.user.UserRightsByUserIdAndBoardIdNotFoundException;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.UserEntitlementView;
+import ru.itone.repository.EntitlementRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Матрица прав пользователей в досках: Id доски -> (Id пользователя -> права).
+ * Права доски загружаются из базы данных одним запросом при первом обращении,
+ * после чего обновляются сервисами при каждом изменении прав (write-through).
+ * Карта прав одной доски неизменяема и заменяется целиком, поэтому читатели никогда не видят её частично обновлённой.
+ * При активной транзакции изменения применяются к кэшу только после её фиксации.
+ * Каждое изменение увеличивает номер версии кэша. Права, загрузка которых началась до изменения,
+ * возвращаются вызывающему, но не сохраняются в кэше, иначе они вытеснили бы применённое изменение.
+ */
+@Component
+public class EntitlementResolver {
+    public static final String CACHE_NAME = "entitlements";
+
+    private final EntitlementRepository entitlementRepository;
+    private final Cache<UUID, Map<UUID, EntitlementEnum>> boards;
+    private final AtomicLong version = new AtomicLong();
+
+    public EntitlementResolver(EntitlementRepository entitlementRepository,
+                               CacheProperties cacheProperties,
+                               MeterRegistry meterRegistry) {
+        this.entitlementRepository = entitlementRepository;
+
+        CacheProperties.Region region = cacheProperties.getEntitlement();
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(region.getMaximumSize())
+                .expireAfterWrite(region.getExpireAfterWrite())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, CACHE_NAME);
+    }
+
+    /**
+     * Возвращает права пользователя в доске.
+     * Если пользователь не найден в кэше доски, права перепроверяются в базе данных,
+     * а права доски удаляются из кэша после фиксации транзакции.
+     *
+     * @param userId  Id пользователя.
+     * @param boardId Id доски.
+     * @return Права пользователя в доске.
+     * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
+     */
+    public EntitlementEnum getEntitlement(UUID userId, UUID boardId) {
+        Map<UUID, EntitlementEnum> users = boards.getIfPresent(boardId);
+
+        if (users == null) {
+            users = loadBoard(boardId);
+        }
+
+        EntitlementEnum entitlement = users.get(userId);
+
+        if (entitlement != null) {
+            return entitlement;
+        }
+
+        entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
+                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId))
+                .getEntitlement();
+
+        afterCommit(() -> update(boardId, cached -> null));
+
+        return entitlement;
+    }
+
+    /**
+     * Регистрирует новую доску, единственным участником которой является её владелец.
+     *
+     * @param boardId Id новой доски.
+     * @param ownerId Id владельца доски.
+     */
+    public void boardCreated(UUID boardId, UUID ownerId) {
+        afterCommit(() -> update(boardId, cached -> Map.of(ownerId, EntitlementEnum.OWNER)));
+    }
+
+    /**
+     * Обновляет права пользователя в доске, если права доски уже находятся в кэше.
+     *
+     * @param boardId     Id доски.
+     * @param userId      Id пользователя.
+     * @param entitlement Новые права пользователя.
+     */
+    public void entitlementChanged(UUID boardId, UUID userId, EntitlementEnum entitlement) {
+        afterCommit(() -> update(boardId, cached -> {
+            if (cached == null) {
+                return null;
+            }
+
+            Map<UUID, EntitlementEnum> updated = new HashMap<>(cached);
+            updated.put(userId, entitlement);
+            return Map.copyOf(updated);
+        }));
+    }
+
+    /**
+     * Удаляет права всех пользователей доски из кэша.
+     *
+     * @param boardId Id удалённой доски.
+     */
+    public void boardDeleted(UUID boardId) {
+        boards.invalidate(boardId);
+        afterCommit(() -> update(boardId, cached -> null));
+    }
+
+    /**
+     * Удаляет права пользователя во всех досках из кэша.
+     *
+     * @param userId Id удалённого пользователя.
+     */
+    public void userDeleted(UUID userId) {
+        removeUser(userId);
+        afterCommit(() -> removeUser(userId));
+    }
+
+    private Map<UUID, EntitlementEnum> loadBoard(UUID boardId) {
+        long loadedVersion = version.get();
+
+        Map<UUID, EntitlementEnum> users = entitlementRepository.findUserEntitlementsByBoardId(boardId).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        UserEntitlementView::getUserId,
+                        UserEntitlementView::getEntitlement
+                ));
+
+        boards.asMap().compute(boardId, (id, cached) -> version.get() == loadedVersion ? users : cached);
+
+        return users;
+    }
+
+    // compute, а не put или invalidate: изменение дожидается сохранения загруженных прав этой доски,
+    // которое выполняется в том же compute, и не может быть им потеряно.
+    private void update(UUID boardId, UnaryOperator<Map<UUID, EntitlementEnum>> change) {
+        version.incrementAndGet();
+        boards.asMap().compute(boardId, (id, cached) -> change.apply(cached));
+    }
+
+    private void removeUser(UUID userId) {
+        version.incrementAndGet();
+        boards.asMap().replaceAll((id, users) -> {
+            if (!users.containsKey(userId)) {
+                return users;
+            }
+
+            Map<UUID, EntitlementEnum> updated = new HashMap<>(users);
+            updated.remove(userId);
+            return Map.copyOf(updated);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
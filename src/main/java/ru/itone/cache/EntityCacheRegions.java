@@ -0,0 +1,22 @@
+package ru.itone.cache;
+
+import java.util.List;
+
+/**
+ * Регионы кэша второго уровня Hibernate.
+ * Кэшируются часто загружаемые по Id доски, эпики и пользователи,
+ * а также коллекции, элементы которых сами находятся в кэше.
+ */
+public final class EntityCacheRegions {
+    public static final String BOARD = "board";
+    public static final String BOARD_EPICS = "board.epics";
+    public static final String BOARD_USERS = "board.users";
+    public static final String EPIC = "epic";
+    public static final String EPIC_USERS = "epic.users";
+    public static final String USER = "user";
+
+    public static final List<String> ALL = List.of(BOARD, BOARD_EPICS, BOARD_USERS, EPIC, EPIC_USERS, USER);
+
+    private EntityCacheRegions() {
+    }
+}
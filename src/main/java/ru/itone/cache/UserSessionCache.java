@@ -0,0 +1,99 @@
+package ru.itone.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.itone.config.CacheProperties;
+import ru.itone.exception.user.UserByIdNotFoundException;
+import ru.itone.repository.UserRepository;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш состояния входа пользователей в систему.
+ * Хранит только признак logon по Id пользователя, чтобы HttpLogonCheck
+ * не обращался к базе данных на каждый запрос.
+ * Записи сбрасываются при входе, выходе, обновлении и удалении пользователя,
+ * при активной транзакции - повторно после её фиксации, так как до фиксации признак может быть загружен заново
+ * из ещё не изменённой строки. Признак, загрузка которого началась до сброса, не сохраняется в кэше.
+ */
+@Component
+public class UserSessionCache {
+    public static final String CACHE_NAME = "userSessions";
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, Boolean> sessions;
+    private final AtomicLong version = new AtomicLong();
+
+    public UserSessionCache(UserRepository userRepository,
+                            CacheProperties cacheProperties,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+
+        CacheProperties.Region region = cacheProperties.getUserSession();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(region.getMaximumSize())
+                .expireAfterWrite(region.getExpireAfterWrite())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, CACHE_NAME);
+    }
+
+    /**
+     * Возвращает признак входа пользователя в систему.
+     * При отсутствии записи в кэше загружает признак из базы данных.
+     *
+     * @param userId Id пользователя.
+     * @return true если пользователь вошел в систему.
+     * @throws UserByIdNotFoundException если пользователь не найден.
+     */
+    public boolean isLogon(UUID userId) {
+        Boolean logon = sessions.getIfPresent(userId);
+
+        if (logon != null) {
+            return logon;
+        }
+
+        long loadedVersion = version.get();
+
+        Boolean loaded = userRepository.findLogonById(userId)
+                .orElseThrow(() -> new UserByIdNotFoundException(userId));
+
+        sessions.asMap().compute(userId, (id, cached) -> version.get() == loadedVersion ? loaded : cached);
+
+        return loaded;
+    }
+
+    /**
+     * Удаляет запись пользователя из кэша сразу и повторно после фиксации активной транзакции.
+     *
+     * @param userId Id пользователя.
+     */
+    public void invalidate(UUID userId) {
+        sessions.invalidate(userId);
+        afterCommit(() -> {
+            version.incrementAndGet();
+            sessions.asMap().compute(userId, (id, cached) -> null);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
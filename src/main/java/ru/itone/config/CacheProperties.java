@@ -0,0 +1,51 @@
+package ru.itone.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task-tracker.cache")
+public class CacheProperties {
+    /**
+     * Настройки кэша сессий пользователей, который использует HttpLogonCheck.
+     */
+    private Region userSession = new Region(10_000, Duration.ofMinutes(5));
+
+    /**
+     * Настройки кэша прав пользователей в досках, который использует EntitlementResolver.
+     * Размер задаётся в количестве досок.
+     */
+    private Region entitlement = new Region(1_000, Duration.ofMinutes(30));
+
+    /**
+     * Настройки каждого региона кэша второго уровня Hibernate (см. EntityCacheRegions).
+     * Размер задаётся в количестве сущностей или коллекций.
+     */
+    private Region entity = new Region(10_000, Duration.ofMinutes(30));
+
+    @Getter
+    @Setter
+    public static class Region {
+        /**
+         * Максимальное количество записей в кэше.
+         */
+        private long maximumSize;
+
+        /**
+         * Время жизни записи с момента её добавления в кэш.
+         */
+        private Duration expireAfterWrite;
+
+        public Region() {
+        }
+
+        public Region(long maximumSize, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
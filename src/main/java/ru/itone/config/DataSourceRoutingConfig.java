@@ -0,0 +1,108 @@
+package ru.itone.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Подключает реплики для чтения, если задан task-tracker.datasource.replicas[0].url.
+ * Основная база данных и реплики используют общие настройки пула spring.datasource.hikari.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "task-tracker.datasource", name = "replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                        DataSourceRoutingProperties routingProperties,
+                                                        Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<DataSourceRoutingProperties.Replica> replicaProperties = routingProperties.getReplicas();
+
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            DataSourceRoutingProperties.Replica properties = replicaProperties.get(i);
+
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName(primary.getPoolName() + "-replica-" + i);
+            replica.setJdbcUrl(properties.getUrl());
+            if (properties.getUsername() != null) {
+                replica.setUsername(properties.getUsername());
+            }
+            if (properties.getPassword() != null) {
+                replica.setPassword(properties.getPassword());
+            }
+
+            replicas.add(replica);
+        }
+
+        return new ReadWriteRoutingDataSource(
+                primary,
+                replicas,
+                routingProperties.getMaxReplicaLag(),
+                Clock.systemUTC(),
+                DataSourceRoutingConfig::currentUserId
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Публикует метрики hikaricp.* пулов реплик.
+     * Пул основной базы данных Spring Boot находит и регистрирует сам.
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReadWriteRoutingDataSource routingDataSource) {
+        return registry -> {
+            for (DataSource replica : routingDataSource.getReplicas()) {
+                HikariDataSource pool = (HikariDataSource) replica;
+
+                if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        };
+    }
+
+    /**
+     * Возвращает Id пользователя из заголовка X-User-Id текущего HTTP-запроса
+     * или null, если запрос не передал заголовок или код выполняется вне потока HTTP-запроса.
+     */
+    private static Object currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+
+        return ((ServletRequestAttributes) attributes).getRequest().getHeader("X-User-Id");
+    }
+}
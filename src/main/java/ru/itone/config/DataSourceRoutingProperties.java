@@ -0,0 +1,46 @@
+package ru.itone.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task-tracker.datasource")
+public class DataSourceRoutingProperties {
+    /**
+     * Реплики базы данных, на которые направляются транзакции только для чтения.
+     * Если список пуст, все запросы выполняются основной базой данных spring.datasource.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Допустимое отставание реплик от основной базы данных.
+     * В течение этого времени после фиксации транзакции на запись чтение того же пользователя
+     * выполняется основной базой данных, чтобы он сразу видел свои изменения.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(1);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        /**
+         * JDBC URL реплики.
+         */
+        private String url;
+
+        /**
+         * Имя пользователя реплики. По умолчанию совпадает с spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Пароль реплики. По умолчанию совпадает с spring.datasource.password.
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.itone.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Метрики времени выполнения.
+ * Время обработки каждого запроса контроллерами Spring Boot публикует в http.server.requests
+ * с тегами uri, method, status и outcome, количество запросов - счётчик этого таймера.
+ * Методы сервисов, отмеченных @Timed(SERVICE_TIMER), измеряются в SERVICE_TIMER с тегами class, method и exception.
+ * Для обоих таймеров публикуются гистограммы, по которым Prometheus вычисляет перцентили.
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "task-tracker.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
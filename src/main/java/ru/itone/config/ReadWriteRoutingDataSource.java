@@ -0,0 +1,140 @@
+package ru.itone.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Источник соединений, направляющий транзакции только для чтения на реплики, а остальные запросы - на основную базу данных.
+ * Реплики выбираются по очереди. После фиксации транзакции на запись чтение того же пользователя
+ * в течение maxReplicaLag выполняется основной базой данных, пока реплики не получат его изменения.
+ * Пользователя определяет sessionKey, время последней записи хранится отдельно для каждого пользователя,
+ * поэтому записи одних пользователей не отключают реплики для остальных.
+ * Записи без пользователя, например из фоновых задач, не учитываются, а чтение без пользователя всегда выполняется репликой.
+ * Время записи хранится в памяти приложения, поэтому гарантия действует в пределах одного экземпляра приложения.
+ * <p>
+ * Признак транзакции только для чтения известен лишь после её начала,
+ * поэтому источник используется через LazyConnectionDataSourceProxy.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica-";
+
+    /**
+     * Максимальное количество пользователей, для которых хранится время последней записи.
+     */
+    private static final long MAX_TRACKED_SESSIONS = 100_000;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Duration maxReplicaLag;
+    private final Clock clock;
+    private final Supplier<Object> sessionKey;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<Object, Long> lastWriteCommittedAt;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      List<DataSource> replicas,
+                                      Duration maxReplicaLag,
+                                      Clock clock,
+                                      Supplier<Object> sessionKey) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxReplicaLag = maxReplicaLag;
+        this.clock = clock;
+        this.sessionKey = sessionKey;
+        this.lastWriteCommittedAt = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_SESSIONS)
+                .expireAfterWrite(maxReplicaLag)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA + i, this.replicas.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return PRIMARY;
+        }
+
+        if (replicas.isEmpty() || isWithinReplicaLag()) {
+            return PRIMARY;
+        }
+
+        return REPLICA + Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    private boolean isWithinReplicaLag() {
+        Object session = sessionKey.get();
+
+        if (session == null) {
+            return false;
+        }
+
+        Long lastWrite = lastWriteCommittedAt.getIfPresent(session);
+
+        return lastWrite != null && clock.millis() - lastWrite < maxReplicaLag.toMillis();
+    }
+
+    private void recordWriteOnCommit() {
+        Object session = sessionKey.get();
+
+        if (session == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteCommittedAt.asMap().merge(session, clock.millis(), Math::max);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            closeIfPossible(replica);
+        }
+        closeIfPossible(primary);
+    }
+
+    private void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+}
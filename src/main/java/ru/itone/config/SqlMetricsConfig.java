@@ -0,0 +1,63 @@
+package ru.itone.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.itone.filter.SqlStatementMetricsFilter;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Учёт SQL-запросов.
+ * Основной источник соединений оборачивается в ProxyDataSource, который считает запросы и их время
+ * в текущем потоке и записывает в журнал запросы дольше task-tracker.sql.slow-query-threshold вместе с параметрами.
+ * SqlStatementMetricsFilter публикует эти значения для каждого HTTP-запроса.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMetricsProperties.class)
+public class SqlMetricsConfig {
+    public static final String DATA_SOURCE_NAME = "task-tracker";
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Оборачивает бин dataSource, которым пользуются Hibernate, Flyway и JdbcTemplate.
+     * Пул соединений остаётся доступен через DataSource.unwrap, поэтому метрики hikaricp.* продолжают публиковаться.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSource(ObjectProvider<SqlMetricsProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName)
+                        || !(bean instanceof DataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                return ProxyDataSourceBuilder.create(DATA_SOURCE_NAME, (DataSource) bean)
+                        .countQuery()
+                        .logSlowQueryBySlf4j(
+                                properties.getObject().getSlowQueryThreshold().toMillis(),
+                                TimeUnit.MILLISECONDS,
+                                SLF4JLogLevel.WARN
+                        )
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry registry,
+                                                                                       SqlMetricsProperties properties) {
+        return new FilterRegistrationBean<>(new SqlStatementMetricsFilter(DATA_SOURCE_NAME, registry, properties));
+    }
+}
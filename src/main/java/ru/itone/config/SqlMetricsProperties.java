@@ -0,0 +1,27 @@
+package ru.itone.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task-tracker.sql")
+public class SqlMetricsProperties {
+    /**
+     * SQL-запросы, выполнявшиеся дольше этого времени, записываются в журнал вместе с параметрами.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+    /**
+     * Максимальное количество SQL-запросов на один HTTP-запрос.
+     * Ключ - имя контроллера и метода, например task-tracker.sql.query-budget.[BoardController.findBoardById]=8.
+     * Превышение бюджета записывается в журнал, а соблюдение бюджетов проверяет SqlStatementMetricsTest.
+     * Для методов, которых нет в списке, количество запросов не ограничивается.
+     */
+    private Map<String, Long> queryBudget = new HashMap<>();
+}
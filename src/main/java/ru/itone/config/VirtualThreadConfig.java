@@ -0,0 +1,75 @@
+package ru.itone.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.itone.filter.ConcurrentRequestLimitFilter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Обработка HTTP-запросов в виртуальных потоках, включается task-tracker.virtual-threads.enabled=true.
+ * Tomcat запускает каждый запрос в новом виртуальном потоке вместо своего пула потоков,
+ * потоковые ответы StreamingResponseBody также записываются в виртуальных потоках.
+ * Количество одновременно обрабатываемых запросов ограничивает ConcurrentRequestLimitFilter,
+ * чтобы ожидание соединения из пула не превращалось в ошибки по истечении времени ожидания.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+@ConditionalOnProperty(prefix = "task-tracker.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    public static final String WAITING_REQUESTS = "task-tracker.virtual-threads.requests.waiting";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor(VirtualThreadProperties properties) {
+        log.info("HTTP-запросы обрабатываются в виртуальных потоках, одновременно не более {}.",
+                properties.getMaxConcurrentRequests());
+
+        return VirtualThreads.newThreadPerTaskExecutor("task-tracker-virtual-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean
+    public WebMvcConfigurer virtualThreadAsyncSupport(ExecutorService virtualThreadExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor));
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrentRequestLimitFilter> concurrentRequestLimitFilter(VirtualThreadProperties properties,
+                                                                                             MeterRegistry registry) {
+        ConcurrentRequestLimitFilter filter = new ConcurrentRequestLimitFilter(
+                properties.getMaxConcurrentRequests(),
+                properties.getAcquireTimeout()
+        );
+
+        Gauge.builder(WAITING_REQUESTS, filter, ConcurrentRequestLimitFilter::getWaitingRequests)
+                .description("Количество HTTP-запросов, ожидающих начала обработки")
+                .register(registry);
+
+        FilterRegistrationBean<ConcurrentRequestLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        // После WebMvcMetricsFilter, чтобы отклонённые запросы попадали в http.server.requests со статусом 503.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.itone.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task-tracker.virtual-threads")
+public class VirtualThreadProperties {
+    /**
+     * Если true, HTTP-запросы и потоковые ответы обрабатываются в виртуальных потоках вместо пула потоков Tomcat.
+     * Требует Java 21 или новее.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Максимальное количество одновременно обрабатываемых HTTP-запросов.
+     * Количество виртуальных потоков не ограничено, поэтому без этого ограничения все запросы одновременно ожидали бы
+     * соединение из пула и завершались ошибкой по spring.datasource.hikari.connection-timeout.
+     */
+    private int maxConcurrentRequests = 20;
+
+    /**
+     * Время ожидания начала обработки запроса, после которого клиент получает ответ 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,53 @@
+package ru.itone.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Создание виртуальных потоков.
+ * Проект компилируется для Java 11, поэтому API виртуальных потоков Java 21 вызывается через рефлексию.
+ */
+public final class VirtualThreads {
+    private static final int FIRST_SUPPORTED_VERSION = 21;
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true если приложение запущено на Java 21 или новее.
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= FIRST_SUPPORTED_VERSION;
+    }
+
+    /**
+     * Создаёт исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     *
+     * @param prefix Префикс имён потоков, к которому добавляется порядковый номер.
+     * @return Исполнитель задач.
+     * @throws IllegalStateException если приложение запущено на Java младше 21.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException(String.format(
+                    "Виртуальные потоки доступны начиная с Java %d, текущая версия: %s.",
+                    FIRST_SUPPORTED_VERSION,
+                    Runtime.version()
+            ));
+        }
+
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+            Method executor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) executor.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков.", e);
+        }
+    }
+}
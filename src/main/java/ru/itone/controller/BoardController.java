@@ -2,20 +2,22 @@ package ru.itone.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.itone.model.Marker;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.service.board.BoardService;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
-import javax.validation.constraints.PositiveOrZero;
 import javax.websocket.server.PathParam;
 import java.util.List;
 import java.util.UUID;
@@ -30,13 +32,13 @@ public class BoardController {
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<BoardResponseDto> findBoards(@PositiveOrZero @RequestParam(name = "page", defaultValue = "0") Integer page,
-                                             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public ResponseEntity<List<BoardResponseDto>> findBoards(@RequestParam(name = "cursor", required = false) String cursor,
+                                                             @Positive @Max(CursorPage.MAX_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Вызов GET-операции: /board");
 
-        Pageable pageable = PageRequest.of(page, size);
+        CursorPage<BoardResponseDto> page = boardService.findBoards(cursor, size);
 
-        return boardService.findBoards(pageable);
+        return page.toResponseEntity();
     }
 
     @GetMapping("/{boardId}")
@@ -46,6 +48,18 @@ public class BoardController {
         return boardService.findBoardById(boardId);
     }
 
+    @GetMapping(value = "/{boardId}", params = "stream=true")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> streamBoardById(@PathVariable UUID boardId) {
+        log.info("Вызов GET-операции: /board/{boardId}?stream=true");
+
+        StreamingResponseBody body = boardService.streamBoardById(boardId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Validated({Marker.toCreate.class})
@@ -3,16 +3,23 @@ package ru.itone.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.itone.model.Marker;
 import ru.itone.model.epic.comment.dto.CommentDto;
 import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.epic.dto.EpicSummaryDto;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.service.epic.EpicService;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,9 +33,26 @@ public class EpicController {
 
     @GetMapping("/all/{boardId}")
     @ResponseStatus(HttpStatus.OK)
-    public List<EpicResponseDto> findEpicsByBoardId(@PathVariable UUID boardId) {
+    public ResponseEntity<List<EpicSummaryDto>> findEpicsByBoardId(@PathVariable UUID boardId,
+                                                                   @RequestParam(name = "cursor", required = false) String cursor,
+                                                                   @Positive @Max(CursorPage.MAX_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Вызов GET-операции: /epic/all/{boardId}");
-        return epicService.findEpicsByBoardId(boardId);
+
+        CursorPage<EpicSummaryDto> page = epicService.findEpicsByBoardId(boardId, cursor, size);
+
+        return page.toResponseEntity();
+    }
+
+    @GetMapping(value = "/all/{boardId}", params = "stream=true")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> streamEpicsByBoardId(@PathVariable UUID boardId) {
+        log.info("Вызов GET-операции: /epic/all/{boardId}?stream=true");
+
+        StreamingResponseBody body = epicService.streamEpicsByBoardId(boardId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @GetMapping("/{epicId}")
@@ -38,6 +62,18 @@ public class EpicController {
         return epicService.findEpicById(epicId);
     }
 
+    @GetMapping("/{epicId}/comments")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<CommentResponseDto>> findCommentsByEpicId(@PathVariable UUID epicId,
+                                                                         @RequestParam(name = "cursor", required = false) String cursor,
+                                                                         @Positive @Max(CursorPage.MAX_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Вызов GET-операции: /epic/{epicId}/comments");
+
+        CursorPage<CommentResponseDto> page = epicService.findCommentsByEpicId(epicId, cursor, size);
+
+        return page.toResponseEntity();
+    }
+
     @PostMapping("/{boardId}")
     @ResponseStatus(HttpStatus.CREATED)
     @Validated({Marker.toCreate.class})
@@ -3,14 +3,20 @@ package ru.itone.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.itone.model.Marker;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.task.dto.TaskResponseDto;
 import ru.itone.service.task.TaskService;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,13 +26,20 @@ import java.util.UUID;
 @RequestMapping("/task")
 @RequiredArgsConstructor
 public class TaskController {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final TaskService taskService;
 
     @GetMapping("/all/{epicId}")
     @ResponseStatus(HttpStatus.OK)
-    public List<TaskResponseDto> findTasksByEpicId(@PathVariable UUID epicId) {
+    public ResponseEntity<List<TaskResponseDto>> findTasksByEpicId(@PathVariable UUID epicId,
+                                                                   @RequestParam(name = "cursor", required = false) String cursor,
+                                                                   @Positive @Max(CursorPage.MAX_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Вызов GET-операции: task/all/{epicId}");
-        return taskService.findTasksByEpicId(epicId);
+
+        CursorPage<TaskResponseDto> page = taskService.findTasksByEpicId(epicId, cursor, size);
+
+        return page.toResponseEntity();
     }
 
     @GetMapping("/{taskId}")
@@ -46,6 +59,18 @@ public class TaskController {
         return taskService.createTaskById(userId, epicId, taskDto);
     }
 
+    @PostMapping("/{epicId}/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Validated({Marker.toCreate.class})
+    public List<TaskResponseDto> createTasksInEpic(@RequestHeader("X-User-Id") UUID userId,
+                                                   @PathVariable UUID epicId,
+                                                   @RequestBody
+                                                   @Size(min = 1, max = MAX_BATCH_SIZE, groups = Marker.toCreate.class)
+                                                   List<@Valid TaskDto> taskDtos) {
+        log.info("Вызов POST-операции: task/{epicId}/batch");
+        return taskService.createTasks(userId, epicId, taskDtos);
+    }
+
     @PatchMapping("/{taskId}")
     @ResponseStatus(HttpStatus.OK)
     @Validated({Marker.toUpdate.class})
@@ -66,6 +91,16 @@ public class TaskController {
         return taskService.updateCompletedTask(userId, epicId, taskId, completed);
     }
 
+    @PatchMapping("/{epicId}/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskResponseDto> updateCompletedTasks(@RequestHeader("X-User-Id") UUID userId,
+                                                      @PathVariable UUID epicId,
+                                                      @RequestParam Boolean completed,
+                                                      @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<UUID> taskIds) {
+        log.info("Вызов PATCH-операции: task/{epicId}/batch");
+        return taskService.updateCompletedTasks(userId, epicId, taskIds, completed);
+    }
+
     @DeleteMapping("/{epicId}/{taskId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTaskById(@RequestHeader("X-User-Id") UUID userId,
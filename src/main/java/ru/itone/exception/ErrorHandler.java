@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.itone.exception.board.BoardByIdNotFoundException;
 import ru.itone.exception.epic.EpicByIdNotFoundException;
 import ru.itone.exception.epic.comment.CommentByIdNotFoundException;
 import ru.itone.exception.http.HttpHeaderNotFoundException;
@@ -39,6 +40,7 @@ public class ErrorHandler {
     @ExceptionHandler({
             UserByIdNotFoundException.class,
             UserByEmailNotFoundException.class,
+            BoardByIdNotFoundException.class,
             EpicByIdNotFoundException.class,
             CommentByIdNotFoundException.class,
             TaskByIdNotFoundException.class,
@@ -0,0 +1,115 @@
+package ru.itone.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничивает количество одновременно обрабатываемых HTTP-запросов.
+ * Запросы сверх ограничения ожидают в порядке поступления не дольше acquireTimeout, после чего получают ответ 503.
+ * Запросы к /actuator не ограничиваются, чтобы метрики и проверки состояния оставались доступны под нагрузкой.
+ * <p>
+ * Если контроллер начал асинхронную обработку, например вернул StreamingResponseBody, разрешение удерживается
+ * до её завершения, ошибки или истечения времени ожидания: запись потокового ответа также входит в ограничение.
+ */
+@Slf4j
+public class ConcurrentRequestLimitFilter extends OncePerRequestFilter {
+    private static final String ACTUATOR_PATH = "/actuator/";
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ConcurrentRequestLimitFilter(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * @return Количество запросов, ожидающих начала обработки.
+     */
+    public int getWaitingRequests() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().startsWith(ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            log.warn("Запрос {} {} отклонён: превышено количество одновременно обрабатываемых запросов.",
+                    request.getMethod(), request.getRequestURI());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Сервер перегружен, повторите запрос позже.");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleaseListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Освобождает разрешение асинхронного запроса один раз, даже если после ошибки или истечения времени ожидания
+     * контейнер также сообщает о завершении.
+     */
+    private class PermitReleaseListener implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
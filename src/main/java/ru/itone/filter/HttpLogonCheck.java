@@ -3,11 +3,9 @@ package ru.itone.filter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import ru.itone.cache.UserSessionCache;
 import ru.itone.exception.http.HttpHeaderNotFoundException;
-import ru.itone.exception.user.UserByIdNotFoundException;
 import ru.itone.exception.user.UserLoginHasBeenNotCompletedException;
-import ru.itone.model.user.User;
-import ru.itone.repository.UserRepository;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -16,7 +14,7 @@ import java.util.UUID;
 @Component
 @RequiredArgsConstructor
 public class HttpLogonCheck implements HandlerInterceptor {
-    private final UserRepository userRepository;
+    private final UserSessionCache userSessionCache;
 
     @Override
     public boolean preHandle(HttpServletRequest request,
@@ -29,10 +27,8 @@ public class HttpLogonCheck implements HandlerInterceptor {
         }
 
         UUID userId = UUID.fromString(id);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserByIdNotFoundException(userId));
 
-        if (!user.getLogon()) {
+        if (!userSessionCache.isLogon(userId)) {
             throw new UserLoginHasBeenNotCompletedException();
         }
 
@@ -0,0 +1,115 @@
+package ru.itone.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.itone.config.SqlMetricsProperties;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Считает SQL-запросы, выполненные при обработке HTTP-запроса, и их общее время.
+ * Значения публикуются в STATEMENTS и TIME с теми же тегами method, uri и status, что и у http.server.requests.
+ * Если для метода контроллера задан бюджет SqlMetricsProperties.queryBudget, его превышение записывается в журнал.
+ * Ответ к этому моменту уже может быть отправлен клиенту, поэтому фильтр не завершает запрос ошибкой:
+ * соблюдение бюджетов проверяется в тестах по handlerName и QueryCountHolder.
+ * <p>
+ * Запросы считает ProxyDataSource в потоке обработки запроса. Потоковые ответы StreamingResponseBody
+ * выполняют SQL-запросы в другом потоке после выхода из фильтра, поэтому асинхронные запросы
+ * не публикуются и не проверяются бюджетом: их счётчик содержал бы только запросы до начала записи ответа.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS = "task-tracker.http.sql.statements";
+    public static final String TIME = "task-tracker.http.sql.time";
+
+    private final String dataSourceName;
+    private final MeterRegistry registry;
+    private final SqlMetricsProperties properties;
+
+    /**
+     * Метрики по тегам method, uri и status. Значение uri - шаблон пути, поэтому количество записей ограничено.
+     */
+    private final ConcurrentMap<Tags, DistributionSummary> statements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Tags, Timer> times = new ConcurrentHashMap<>();
+
+    /**
+     * @return Имя метода контроллера в формате ключей SqlMetricsProperties.queryBudget, например BoardController.findBoardById.
+     */
+    public static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCountHolder.clear();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                record(request, response);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response) {
+        QueryCount queryCount = QueryCountHolder.get(dataSourceName);
+        if (queryCount == null) {
+            queryCount = new QueryCount();
+        }
+
+        Tags tags = Tags.of(
+                WebMvcTags.method(request),
+                WebMvcTags.uri(request, response),
+                WebMvcTags.status(response)
+        );
+
+        statements.computeIfAbsent(tags, key -> DistributionSummary.builder(STATEMENTS)
+                        .description("Количество SQL-запросов, выполненных при обработке HTTP-запроса")
+                        .baseUnit("statements")
+                        .tags(key)
+                        .register(registry))
+                .record(queryCount.getTotal());
+        times.computeIfAbsent(tags, key -> Timer.builder(TIME)
+                        .description("Общее время SQL-запросов, выполненных при обработке HTTP-запроса")
+                        .tags(key)
+                        .register(registry))
+                .record(queryCount.getTime(), TimeUnit.MILLISECONDS);
+
+        checkQueryBudget(request, queryCount.getTotal());
+    }
+
+    private void checkQueryBudget(HttpServletRequest request, long statements) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+
+        String name = handlerName((HandlerMethod) handler);
+        Long budget = properties.getQueryBudget().get(name);
+
+        if (budget != null && statements > budget) {
+            log.warn("{} выполнил SQL-запросов: {}, допустимо: {}.", name, statements, budget);
+        }
+    }
+}
@@ -3,9 +3,14 @@ package ru.itone.model.board;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
+import ru.itone.cache.EntityCacheRegions;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.epic.Epic;
+import ru.itone.model.id.TimeOrderedUuidGenerator;
 import ru.itone.model.user.User;
 
 import javax.persistence.*;
@@ -18,20 +23,25 @@ import java.util.UUID;
 @NoArgsConstructor
 @Entity
 @Table(name = "Boards")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.BOARD)
 public class Board {
     @Id
-    @Type(type = "org.hibernate.type.UUIDCharType")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Type(type = "org.hibernate.type.UUIDBinaryType")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
     private UUID id;
 
     @Column(name = "name")
     private String name;
 
     @OneToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.BOARD_EPICS)
     @JoinColumn(name = "board_id", updatable = false)
     private Set<Epic> epics;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.BOARD_USERS)
     @JoinTable(
             name = "Boards_Users",
             joinColumns = @JoinColumn(name = "board_id", referencedColumnName = "id"),
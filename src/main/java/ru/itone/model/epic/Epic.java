@@ -4,10 +4,16 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
+import ru.itone.cache.EntityCacheRegions;
 import ru.itone.model.board.Board;
 import ru.itone.model.epic.comment.Comment;
 import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.id.TimeOrderedUuidGenerator;
 import ru.itone.model.task.Task;
 import ru.itone.model.user.User;
 
@@ -20,10 +26,13 @@ import java.util.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "Epics")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.EPIC)
 public class Epic {
     @Id
-    @Type(type = "org.hibernate.type.UUIDCharType")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Type(type = "org.hibernate.type.UUIDBinaryType")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
     private UUID id;
 
     @Column(name = "name")
@@ -37,6 +46,12 @@ public class Epic {
     @Column(name = "status")
     private EpicStatus status;
 
+    @Column(name = "total_tasks")
+    private Integer totalTasks;
+
+    @Column(name = "completed_tasks")
+    private Integer completedTasks;
+
     @Column(name = "created_time")
     private LocalDateTime createdTime;
 
@@ -47,15 +62,16 @@ public class Epic {
     @JoinColumn(name = "board_id")
     private Board board;
 
-    @OneToMany(fetch = FetchType.EAGER)
+    @OneToMany(fetch = FetchType.LAZY)
     @JoinColumn(name = "epic_id", updatable = false)
     private Set<Task> tasks;
 
-    @OneToMany(fetch = FetchType.EAGER)
+    @OneToMany(fetch = FetchType.LAZY)
     @JoinColumn(name = "epic_id", updatable = false)
     private List<Comment> activity;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.EPIC_USERS)
     @JoinTable(
             name = "Epics_Users",
             joinColumns = @JoinColumn(name = "epic_id", referencedColumnName = "id"),
@@ -67,6 +83,8 @@ public class Epic {
         this.name = dto.getName();
         this.description = dto.getDescription();
         this.status = EpicStatus.TODO;
+        this.totalTasks = 0;
+        this.completedTasks = 0;
         this.createdTime = LocalDateTime.now();
         this.endTime = dto.getEndTime();
         this.board = board;
@@ -75,15 +93,40 @@ public class Epic {
         this.users = new HashSet<>();
     }
 
+    /**
+     * Добавляет комментарий в ленту эпика, если она уже загружена.
+     * Незагруженная лента не загружается ради добавления: комментарий связан с эпиком через Comment.epic
+     * и появится в ленте при её загрузке из базы данных.
+     */
     public void addComment(Comment comment) {
         if (activity != null) {
-            activity.add(comment);
+            if (Hibernate.isInitialized(activity)) {
+                activity.add(comment);
+            }
         } else {
             this.activity = new ArrayList<>();
             activity.add(comment);
         }
     }
 
+    /**
+     * Удаляет комментарий из ленты эпика, если она уже загружена.
+     */
+    public void removeComment(Comment comment) {
+        if (activity != null && Hibernate.isInitialized(activity)) {
+            activity.remove(comment);
+        }
+    }
+
+    /**
+     * Изменяет счётчики задач эпика и пересчитывает его статус по правилам EpicStatus.of.
+     */
+    public void changeTaskCounters(int totalDelta, int completedDelta) {
+        this.totalTasks += totalDelta;
+        this.completedTasks += completedDelta;
+        this.status = EpicStatus.of(totalTasks, completedTasks);
+    }
+
     public void addUser(User user) {
         if (users != null) {
             users.add(user);
@@ -1,18 +1,20 @@
 package ru.itone.model.epic;
 
-import ru.itone.model.epic.comment.CommentMapper;
-import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
 import ru.itone.model.task.TaskMapper;
 import ru.itone.model.task.dto.TaskResponseDto;
 import ru.itone.model.user.UserMapper;
 import ru.itone.model.user.dto.UserFullNameAndEmailDto;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 public class EpicMapper {
+    /**
+     * Преобразует эпик в DTO объект без комментариев, чтобы не загружать их все.
+     * Количество и последние комментарии эпика заполняет EpicActivityLoader.
+     */
     public static EpicResponseDto toEpicResponseDto(Epic epic) {
         EpicResponseDto epicResponseDto = new EpicResponseDto();
 
@@ -36,11 +38,6 @@ public class EpicMapper {
             epicResponseDto.setTasks(tasks);
         }
 
-        if (epic.getActivity() != null) {
-            List<CommentResponseDto> activity = CommentMapper.toCommentResponseDtoList(epic.getActivity());
-            epicResponseDto.setActivity(activity);
-        }
-
         if (epic.getUsers() != null) {
             List<UserFullNameAndEmailDto> users = UserMapper.toUserFullNameAndEmailDtoList(epic.getUsers());
             epicResponseDto.setUsers(users);
@@ -49,7 +46,7 @@ public class EpicMapper {
         return epicResponseDto;
     }
 
-    public static List<EpicResponseDto> toEpicResponseDtoList(Set<Epic> epics) {
+    public static List<EpicResponseDto> toEpicResponseDtoList(Collection<Epic> epics) {
         return epics.stream()
                 .map(EpicMapper::toEpicResponseDto)
                 .collect(Collectors.toList());
@@ -3,5 +3,26 @@ package ru.itone.model.epic;
 public enum EpicStatus {
     TODO,
     DOING,
-    DONE
+    DONE;
+
+    /**
+     * Вычисляет статус эпика по счётчикам его задач.
+     * Эпик без выполненных задач имеет статус TODO,
+     * эпик у которого выполнены все задачи - DONE, иначе - DOING.
+     *
+     * @param totalTasks     Общее количество задач эпика.
+     * @param completedTasks Количество выполненных задач эпика.
+     * @return Статус эпика.
+     */
+    public static EpicStatus of(long totalTasks, long completedTasks) {
+        if (completedTasks == 0) {
+            return TODO;
+        }
+
+        if (completedTasks == totalTasks) {
+            return DONE;
+        }
+
+        return DOING;
+    }
 }
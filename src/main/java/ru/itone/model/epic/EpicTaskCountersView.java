@@ -0,0 +1,15 @@
+package ru.itone.model.epic;
+
+import java.util.UUID;
+
+public interface EpicTaskCountersView {
+    UUID getId();
+
+    Integer getTotalTasks();
+
+    Integer getCompletedTasks();
+
+    Long getActualTotalTasks();
+
+    Long getActualCompletedTasks();
+}
@@ -4,13 +4,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 import ru.itone.model.epic.Epic;
 import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.id.TimeOrderedUuidGenerator;
 import ru.itone.model.user.User;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Getter
@@ -21,8 +24,9 @@ import java.util.UUID;
 @Table(name = "Comments")
 public class Comment {
     @Id
-    @Type(type = "org.hibernate.type.UUIDCharType")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Type(type = "org.hibernate.type.UUIDBinaryType")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
     private UUID id;
 
     @Column(name = "text")
@@ -31,17 +35,21 @@ public class Comment {
     @Column(name = "created_time")
     private LocalDateTime createdTime;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private User author;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "epic_id")
     private Epic epic;
 
     public Comment(CommentDto dto, User author, Epic epic) {
         this.text = dto.getText();
-        this.createdTime = LocalDateTime.now();
+        // Точность TIMESTAMP в базе данных - микросекунды. Время в сущности должно совпадать с сохранённым,
+        // так как используется в курсоре постраничного вывода комментариев.
+        this.createdTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         this.author = author;
         this.epic = epic;
     }
@@ -0,0 +1,9 @@
+package ru.itone.model.epic.comment;
+
+import java.util.UUID;
+
+public interface EpicCommentCountView {
+    UUID getEpicId();
+
+    Long getCommentCount();
+}
@@ -21,6 +21,7 @@ public class EpicResponseDto {
     private LocalDateTime createdTime;
     private LocalDateTime endTime;
     private List<TaskResponseDto> tasks;
+    private Long commentCount;
     private List<CommentResponseDto> activity;
     private List<UserFullNameAndEmailDto> users;
 }
@@ -0,0 +1,41 @@
+package ru.itone.model.epic.dto;
+
+import lombok.*;
+import ru.itone.model.epic.EpicStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EpicSummaryDto {
+    private UUID id;
+    private String name;
+    private String status;
+    private LocalDateTime endTime;
+    private Long taskCount;
+    private Long commentCount;
+    private Long assigneeCount;
+
+    /**
+     * Конструктор для JPQL-проекции EpicRepository.findSummariesByBoardId.
+     * Количества принимаются как Number, так как тип агрегатов зависит от выражения в запросе.
+     */
+    public EpicSummaryDto(UUID id,
+                          String name,
+                          EpicStatus status,
+                          LocalDateTime endTime,
+                          Number taskCount,
+                          Number commentCount,
+                          Number assigneeCount) {
+        this.id = id;
+        this.name = name;
+        this.status = status.toString();
+        this.endTime = endTime;
+        this.taskCount = taskCount.longValue();
+        this.commentCount = commentCount.longValue();
+        this.assigneeCount = assigneeCount.longValue();
+    }
+}
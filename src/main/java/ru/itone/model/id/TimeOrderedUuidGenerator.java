@@ -0,0 +1,58 @@
+package ru.itone.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Генератор Id сущностей в формате UUID версии 7 (RFC 9562).
+ * Старшие 48 бит содержат время создания в миллисекундах, следующие 12 бит - счётчик внутри миллисекунды,
+ * остальные биты заполняются случайно. Id создаются в приложении без обращения к базе данных,
+ * возрастают в порядке создания и поэтому добавляются в конец индексов по Id.
+ * <p>
+ * Подключается к сущности через {@code @GenericGenerator(name = ..., strategy = TimeOrderedUuidGenerator.STRATEGY)}.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+    public static final String STRATEGY = "ru.itone.model.id.TimeOrderedUuidGenerator";
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Время последнего выданного Id в миллисекундах, сдвинутое на COUNTER_BITS, вместе со счётчиком.
+     * При переполнении счётчика время сдвигается на следующую миллисекунду, поэтому Id не повторяются
+     * и не убывают даже при переводе системных часов назад.
+     */
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    /**
+     * Возвращает новый Id, больший всех ранее выданных в этом процессе.
+     *
+     * @return UUID версии 7.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = (RANDOM.nextLong() & RANDOM_MASK) | VARIANT;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+}
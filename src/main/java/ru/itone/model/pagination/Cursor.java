@@ -0,0 +1,103 @@
+package ru.itone.model.pagination;
+
+import lombok.Getter;
+
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция в упорядоченном списке для постраничного вывода по ключу (keyset pagination).
+ * Содержит ключ последнего элемента страницы: Id и, для списков упорядоченных по времени, время создания.
+ * Клиенту передаётся в виде непрозрачной строки в кодировке Base64 URL.
+ */
+@Getter
+public class Cursor {
+    /**
+     * Нижняя граница Id для первой страницы списков, упорядоченных по Id.
+     */
+    public static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdTime;
+    private final UUID id;
+
+    private Cursor(LocalDateTime createdTime, UUID id) {
+        this.createdTime = createdTime;
+        this.id = id;
+    }
+
+    public static String encode(UUID id) {
+        return encode(id.toString());
+    }
+
+    public static String encode(LocalDateTime createdTime, UUID id) {
+        return encode(createdTime + SEPARATOR + id);
+    }
+
+    /**
+     * Возвращает Id, после которого начинается страница списка, упорядоченного по Id.
+     *
+     * @param cursor Строка курсора или null для первой страницы.
+     * @return Id последнего элемента предыдущей страницы или FIRST_ID.
+     * @throws ValidationException если курсор имеет неверный формат.
+     */
+    public static UUID decodeId(String cursor) {
+        if (cursor == null) {
+            return FIRST_ID;
+        }
+
+        try {
+            return UUID.fromString(decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    /**
+     * Возвращает позицию в списке, упорядоченном по времени создания и Id.
+     *
+     * @param cursor Строка курсора или null для первой страницы.
+     * @return Позиция последнего элемента предыдущей страницы или null.
+     * @throws ValidationException если курсор имеет неверный формат.
+     */
+    public static Cursor decodeCreatedTimeAndId(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        String[] parts = decode(cursor).split("\\" + SEPARATOR, -1);
+
+        if (parts.length != 2) {
+            throw invalid(cursor);
+        }
+
+        try {
+            return new Cursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static ValidationException invalid(String cursor) {
+        return new ValidationException(String.format("Некорректный курсор страницы: %s", cursor));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.itone.model.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Страница списка и курсор следующей страницы.
+ * Курсор равен null, если страница последняя.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Максимальный размер страницы. Ограничивает объём чтения одного запроса и защищает size + 1 от переполнения.
+     */
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * Формирует страницу из результата запроса, выбравшего на один элемент больше размера страницы.
+     * Лишний элемент означает наличие следующей страницы и не попадает в результат.
+     *
+     * @param fetched  Результат запроса размером не более size + 1.
+     * @param size     Размер страницы.
+     * @param cursorOf Функция получения курсора по последнему элементу страницы.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+
+        List<T> items = fetched.subList(0, size);
+
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    /**
+     * Возвращает элементы страницы в теле ответа, а курсор следующей страницы в заголовке X-Next-Cursor.
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        return response.body(items);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(
+                items.stream()
+                        .map(mapper)
+                        .collect(Collectors.toList()),
+                nextCursor
+        );
+    }
+}
@@ -3,8 +3,10 @@ package ru.itone.model.task;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 import ru.itone.model.epic.Epic;
+import ru.itone.model.id.TimeOrderedUuidGenerator;
 import ru.itone.model.task.dto.TaskDto;
 
 import javax.persistence.*;
@@ -17,8 +19,9 @@ import java.util.UUID;
 @Table(name = "Tasks")
 public class Task {
     @Id
-    @Type(type = "org.hibernate.type.UUIDCharType")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Type(type = "org.hibernate.type.UUIDBinaryType")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
     private UUID id;
 
     @Column(name = "description")
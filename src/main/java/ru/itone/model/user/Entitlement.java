@@ -4,8 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 import ru.itone.model.board.Board;
+import ru.itone.model.id.TimeOrderedUuidGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
@@ -18,8 +20,9 @@ import java.util.UUID;
 @Table(name = "Entitlements")
 public class Entitlement {
     @Id
-    @Type(type = "org.hibernate.type.UUIDCharType")
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Type(type = "org.hibernate.type.UUIDBinaryType")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
     @Column(name = "id")
     private UUID id;
 
@@ -0,0 +1,9 @@
+package ru.itone.model.user;
+
+import java.util.UUID;
+
+public interface UserEntitlementView {
+    UUID getUserId();
+
+    EntitlementEnum getEntitlement();
+}
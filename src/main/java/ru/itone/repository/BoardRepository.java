@@ -1,11 +1,47 @@
 package ru.itone.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.board.Board;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface BoardRepository extends JpaRepository<Board, UUID> {
+    List<Board> findByIdGreaterThanOrderById(UUID id, Pageable pageable);
+
+    /**
+     * Удаляет доску одним запросом.
+     * Эпики, задачи, комментарии, приглашения, права и участники доски удаляются
+     * базой данных по внешним ключам с ON DELETE CASCADE (см. db/migration).
+     * Таблицы, затронутые каскадным удалением, перечислены в HINT_NATIVE_SPACES,
+     * чтобы Hibernate сбросил связанные с ними регионы кэша второго уровня.
+     * Имена указываются так, как их формирует стратегия именования Spring Boot - в нижнем регистре.
+     *
+     * @param id Id доски.
+     * @return Количество удалённых досок.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "boards"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "boards_users"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "entitlements"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "invitations"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "epics"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "epics_users"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "tasks"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "comments")
+    })
+    @Query(value = "DELETE FROM Boards WHERE id = :id", nativeQuery = true)
+    int removeById(UUID id);
 }
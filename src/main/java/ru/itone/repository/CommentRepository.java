@@ -1,16 +1,53 @@
 package ru.itone.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.epic.comment.Comment;
+import ru.itone.model.epic.comment.EpicCommentCountView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
+    @Query("SELECT c FROM Comment c WHERE c.epic.id = :epicId ORDER BY c.createdTime DESC, c.id DESC")
+    List<Comment> findByEpicIdOrderByCreatedTimeDescIdDesc(UUID epicId, Pageable pageable);
+
+    /**
+     * Возвращает комментарии эпика, созданные раньше комментария с указанными временем создания и Id,
+     * от новых к старым.
+     */
+    @Query("SELECT c FROM Comment c WHERE c.epic.id = :epicId " +
+            "AND (c.createdTime < :createdTime OR (c.createdTime = :createdTime AND c.id < :id)) " +
+            "ORDER BY c.createdTime DESC, c.id DESC")
+    List<Comment> findByEpicIdBefore(UUID epicId, LocalDateTime createdTime, UUID id, Pageable pageable);
+
+    /**
+     * Возвращает количество комментариев каждого из эпиков. Эпики без комментариев в результат не попадают.
+     */
+    @Query("SELECT c.epic.id AS epicId, COUNT(c) AS commentCount FROM Comment c " +
+            "WHERE c.epic.id IN :epicIds GROUP BY c.epic.id")
+    List<EpicCommentCountView> countByEpicIds(Collection<UUID> epicIds);
+
+    /**
+     * Возвращает не более limit последних комментариев каждого из эпиков одним запросом,
+     * от новых к старым внутри эпика.
+     */
+    @Query(value = "SELECT id, text, created_time, epic_id, author_id FROM (" +
+            "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.epic_id ORDER BY c.created_time DESC, c.id DESC) AS position " +
+            "FROM Comments c WHERE c.epic_id IN (:epicIds)" +
+            ") latest WHERE position <= :limit ORDER BY epic_id, created_time DESC, id DESC",
+            nativeQuery = true)
+    List<Comment> findLatestByEpicIds(Collection<UUID> epicIds, int limit);
+
     @Modifying
     @Transactional
+    @Query("DELETE FROM Comment c WHERE c.author.id = :id")
     void deleteAllByAuthorId(UUID id);
 }
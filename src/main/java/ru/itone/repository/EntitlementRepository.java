@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.UserEntitlementView;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,10 +14,16 @@ import java.util.UUID;
 
 public interface EntitlementRepository extends JpaRepository<Entitlement, UUID> {
 
+    @Query("SELECT e FROM Entitlement e WHERE e.user.id = :userId AND e.board.id = :boardId")
     Optional<Entitlement> findByUserIdAndBoardId(UUID userId, UUID boardId);
 
+    @Query("SELECT e FROM Entitlement e WHERE e.board.id = :boardId")
     List<Entitlement> findAllByBoardId(UUID boardId);
 
+    @Query("SELECT e.user.id AS userId, e.entitlement AS entitlement FROM Entitlement e WHERE e.board.id = :boardId")
+    List<UserEntitlementView> findUserEntitlementsByBoardId(UUID boardId);
+
+    @Query("SELECT e FROM Entitlement e WHERE e.user.id = :userId AND e.entitlement = :entitlement")
     List<Entitlement> findAllByUserIdAndEntitlement(UUID userId, EntitlementEnum entitlement);
 
     @Modifying
@@ -26,5 +33,6 @@ public interface EntitlementRepository extends JpaRepository<Entitlement, UUID>
 
     @Modifying
     @Transactional
+    @Query("DELETE FROM Entitlement e WHERE e.user.id = :id")
     void deleteAllByUserId(UUID id);
 }
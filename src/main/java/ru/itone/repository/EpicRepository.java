@@ -1,11 +1,59 @@
 package ru.itone.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.EpicStatus;
+import ru.itone.model.epic.EpicTaskCountersView;
+import ru.itone.model.epic.dto.EpicSummaryDto;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface EpicRepository extends JpaRepository<Epic, UUID> {
+public interface EpicRepository extends JpaRepository<Epic, UUID>, EpicRepositoryCustom {
+    /**
+     * Возвращает краткие сведения об эпиках доски одним запросом, не загружая задачи, комментарии и участников.
+     * Количество задач берётся из хранимого счётчика эпика.
+     * Эпики упорядочены по Id, страница начинается после эпика с Id after.
+     */
+    @Query("SELECT new ru.itone.model.epic.dto.EpicSummaryDto(" +
+            "e.id, e.name, e.status, e.endTime, e.totalTasks, " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.epic = e), " +
+            "SIZE(e.users)) " +
+            "FROM Epic e WHERE e.board.id = :boardId AND e.id > :after " +
+            "ORDER BY e.id")
+    List<EpicSummaryDto> findSummariesByBoardId(UUID boardId, UUID after, Pageable pageable);
+
+    @Query("SELECT e FROM Epic e WHERE e.board.id = :boardId AND e.id > :id ORDER BY e.id")
+    List<Epic> findByBoardIdAndIdGreaterThanOrderById(UUID boardId, UUID id, Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.totalTasks AS totalTasks, e.completedTasks AS completedTasks, " +
+            "COUNT(t) AS actualTotalTasks, " +
+            "COALESCE(SUM(CASE WHEN t.isCompleted = true THEN 1 ELSE 0 END), 0) AS actualCompletedTasks " +
+            "FROM Epic e LEFT JOIN e.tasks t " +
+            "GROUP BY e.id, e.totalTasks, e.completedTasks " +
+            "HAVING e.totalTasks <> COUNT(t) " +
+            "OR e.completedTasks <> COALESCE(SUM(CASE WHEN t.isCompleted = true THEN 1 ELSE 0 END), 0)")
+    List<EpicTaskCountersView> findEpicsWithTaskCountersDrift();
+
+    /**
+     * Устанавливает пересчитанные счётчики задач эпика,
+     * только если с момента пересчёта счётчики не были изменены другим запросом.
+     * Групповое обновление сбрасывает весь регион кэша эпиков, что допустимо для редкого ночного пересчёта.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Epic e SET e.totalTasks = :totalTasks, e.completedTasks = :completedTasks, e.status = :status " +
+            "WHERE e.id = :id AND e.totalTasks = :expectedTotalTasks AND e.completedTasks = :expectedCompletedTasks")
+    int repairTaskCounters(UUID id,
+                           int expectedTotalTasks,
+                           int expectedCompletedTasks,
+                           int totalTasks,
+                           int completedTasks,
+                           EpicStatus status);
 }
@@ -0,0 +1,16 @@
+package ru.itone.repository;
+
+import java.util.UUID;
+
+public interface EpicRepositoryCustom {
+    /**
+     * Изменяет счётчики задач эпика и пересчитывает его статус.
+     * Строка эпика блокируется до конца транзакции, поэтому параллельные изменения счётчиков выполняются по очереди.
+     *
+     * @param id             Id эпика.
+     * @param totalDelta     Изменение общего количества задач.
+     * @param completedDelta Изменение количества выполненных задач.
+     * @return 1 если эпик найден, иначе 0.
+     */
+    int updateTaskCounters(UUID id, int totalDelta, int completedDelta);
+}
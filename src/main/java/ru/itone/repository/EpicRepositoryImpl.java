@@ -0,0 +1,34 @@
+package ru.itone.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.model.epic.Epic;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.UUID;
+
+/**
+ * Счётчики изменяются через управляемую сущность, а не групповым запросом UPDATE:
+ * после группового запроса Hibernate сбрасывает весь регион кэша второго уровня эпиков,
+ * а изменение сущности обновляет в кэше только запись этого эпика после фиксации транзакции.
+ */
+@RequiredArgsConstructor
+public class EpicRepositoryImpl implements EpicRepositoryCustom {
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateTaskCounters(UUID id, int totalDelta, int completedDelta) {
+        // Блокировка строки сериализует параллельные изменения счётчиков одного эпика.
+        Epic epic = entityManager.find(Epic.class, id, LockModeType.PESSIMISTIC_WRITE);
+
+        if (epic == null) {
+            return 0;
+        }
+
+        epic.changeTaskCounters(totalDelta, completedDelta);
+
+        return 1;
+    }
+}
@@ -1,6 +1,9 @@
 package ru.itone.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.board.invite.Invite;
 
 import java.util.List;
@@ -8,9 +11,17 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface InviteRepository extends JpaRepository<Invite, UUID> {
+    @Query("SELECT i FROM Invite i WHERE i.user.id = :userId AND i.confirmed = :confirmed")
     List<Invite> findAllByUserIdAndConfirmed(UUID userId, Boolean confirmed);
 
+    @Query("SELECT i FROM Invite i WHERE i.board.id = :boardId")
     List<Invite> findAllByBoardId(UUID boardId);
 
+    @Query("SELECT i FROM Invite i WHERE i.user.id = :userId AND i.board.id = :boardId")
     Optional<Invite> findByUserIdAndBoardId(UUID userId, UUID boardId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Invite i WHERE i.user.id = :id")
+    void deleteAllByUserId(UUID id);
 }
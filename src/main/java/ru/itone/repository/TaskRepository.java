@@ -1,11 +1,48 @@
 package ru.itone.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.task.Task;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
+    @Query("SELECT t FROM Task t WHERE t.epic.id = :epicId AND t.id > :id ORDER BY t.id")
+    List<Task> findByEpicIdAndIdGreaterThanOrderById(UUID epicId, UUID id, Pageable pageable);
+
+    /**
+     * Изменяет признак выполнения задачи, только если он отличается от текущего.
+     *
+     * @return Количество изменённых задач: 1 если признак изменился, иначе 0.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Task t SET t.isCompleted = :completed WHERE t.id = :id AND t.isCompleted <> :completed")
+    int updateCompleted(UUID id, Boolean completed);
+
+    /**
+     * Изменяет признак выполнения задач эпика одним запросом, пропуская задачи, у которых признак уже установлен.
+     *
+     * @return Количество задач, у которых изменился признак выполнения.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Task t SET t.isCompleted = :completed " +
+            "WHERE t.epic.id = :epicId AND t.id IN :ids AND t.isCompleted <> :completed")
+    int updateCompletedByEpicId(UUID epicId, Collection<UUID> ids, Boolean completed);
+
+    @Query("SELECT t FROM Task t WHERE t.epic.id = :epicId AND t.id IN :ids")
+    List<Task> findByEpicIdAndIdIn(UUID epicId, Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Task t WHERE t.id = :id")
+    int removeById(UUID id);
 }
@@ -2,17 +2,50 @@ package ru.itone.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import ru.itone.model.user.User;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.logon FROM User u WHERE u.id = :id")
+    Optional<Boolean> findLogonById(UUID id);
+
+    /**
+     * Исключает пользователя из всех эпиков одним запросом.
+     * Hibernate сбрасывает кэш коллекций только вместе с сущностями, которые являются их элементами,
+     * поэтому запрос синхронизируется с таблицей users, чтобы сбросить кэш коллекции Epic.users.
+     *
+     * @param id Id пользователя.
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "DELETE FROM Epics_Users WHERE user_id = :id", nativeQuery = true)
+    void removeFromAllEpics(UUID id);
+
+    /**
+     * Исключает пользователя из всех досок одним запросом.
+     * Запрос синхронизируется с таблицей users, чтобы сбросить кэш коллекции Board.users.
+     *
+     * @param id Id пользователя.
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "DELETE FROM Boards_Users WHERE user_id = :id", nativeQuery = true)
+    void removeFromAllBoards(UUID id);
+
     @Modifying
     @Transactional
     void deleteById(UUID id);
@@ -1,18 +1,20 @@
 package ru.itone.service.board;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.user.EntitlementEnum;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface BoardService {
-    List<BoardResponseDto> findBoards(Pageable pageable);
+    CursorPage<BoardResponseDto> findBoards(String cursor, Integer size);
 
     BoardResponseDto findBoardById(UUID boardId);
 
+    StreamingResponseBody streamBoardById(UUID boardId);
+
     BoardResponseDto createBoard(UUID userId, BoardDto boardDto);
 
     void inviteUser(UUID owner, UUID boardId, UUID userId);
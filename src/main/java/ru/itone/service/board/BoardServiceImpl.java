@@ -1,8 +1,17 @@
 package ru.itone.service.board;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.config.MetricsConfig;
 import ru.itone.exception.board.BoardByIdNotFoundException;
 import ru.itone.exception.user.UserAccessDeniedException;
 import ru.itone.exception.user.UserByIdNotFoundException;
@@ -13,37 +22,66 @@ import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.board.dto.BoardResponseDto;
 import ru.itone.model.board.invite.Invite;
 import ru.itone.model.epic.Epic;
-import ru.itone.model.task.Task;
+import ru.itone.model.epic.EpicMapper;
+import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
+import ru.itone.model.user.UserMapper;
+import ru.itone.model.user.dto.UserResponseDto;
 import ru.itone.repository.*;
+import ru.itone.service.epic.EpicActivityLoader;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BoardServiceImpl implements BoardService {
+    /**
+     * Количество эпиков, загружаемых в память за один раз при потоковой выдаче доски.
+     * Не больше hibernate.default_batch_fetch_size, чтобы задачи и участники порции загружались одним запросом.
+     */
+    private static final int STREAM_CHUNK_SIZE = 50;
+
     private final UserRepository userRepository;
     private final EntitlementRepository entitlementRepository;
     private final BoardRepository boardRepository;
     private final EpicRepository epicRepository;
-    private final TaskRepository taskRepository;
+    private final EpicActivityLoader epicActivityLoader;
     private final InviteRepository inviteRepository;
+    private final EntitlementResolver entitlementResolver;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
 
     /**
-     * Возвращает все Доски задач постранично используя Pageable.
+     * Возвращает Доски задач постранично в порядке Id.
+     * Страница начинается после доски, на которой закончилась предыдущая, поэтому стоимость запроса не зависит от номера страницы.
      *
-     * @param pageable Формируется в контроллере исходя из параметров запроса.
-     * @return Список DTO объектов BoardResponseDto сущностей Board.
+     * @param cursor Курсор следующей страницы из предыдущего ответа или null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница DTO объектов BoardResponseDto сущностей Board.
+     * @throws javax.validation.ValidationException если курсор имеет неверный формат.
      */
     @Override
-    public List<BoardResponseDto> findBoards(Pageable pageable) {
-        Set<Board> boards = boardRepository.findAll(pageable).toSet();
+    public CursorPage<BoardResponseDto> findBoards(String cursor, Integer size) {
+        List<Board> boards = boardRepository.findByIdGreaterThanOrderById(
+                Cursor.decodeId(cursor),
+                PageRequest.of(0, size + 1)
+        );
 
-        return BoardMapper.toBoardResponseDtoList(boards);
+        CursorPage<BoardResponseDto> page = CursorPage.of(boards, size, board -> Cursor.encode(board.getId()))
+                .map(BoardMapper::toBoardResponseDto);
+        epicActivityLoader.loadActivityOfBoards(page.getItems());
+
+        return page;
     }
 
     /**
@@ -58,7 +96,32 @@ public class BoardServiceImpl implements BoardService {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new BoardByIdNotFoundException(boardId));
 
-        return BoardMapper.toBoardResponseDto(board);
+        return toBoardResponseDto(board);
+    }
+
+    /**
+     * Возвращает Доску с эпиками в виде JSON, записываемого в ответ по мере чтения эпиков из базы данных.
+     * Эпики загружаются порциями по STREAM_CHUNK_SIZE, задачи и участники загружаются пакетно только для эпиков порции,
+     * поэтому расход памяти на запрос не зависит от размера доски.
+     * Каждая порция читается в своей короткой транзакции только для чтения и записывается в ответ после её завершения,
+     * поэтому медленный клиент не удерживает соединение из пула. Следующая порция начинается после последнего
+     * записанного эпика, эпики, добавленные или удалённые во время записи, могут не попасть в ответ или остаться в нём.
+     * Формат ответа совпадает с BoardResponseDto.
+     *
+     * @param boardId Id сущности в формате UUID.
+     * @return Тело ответа, которое читает доску и каждую порцию эпиков в отдельной транзакции только для чтения.
+     * @throws BoardByIdNotFoundException В случае если сущность не найдена.
+     */
+    @Override
+    public StreamingResponseBody streamBoardById(UUID boardId) {
+        if (!boardRepository.existsById(boardId)) {
+            throw new BoardByIdNotFoundException(boardId);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        return outputStream -> writeBoard(boardId, transaction, outputStream);
     }
 
     /**
@@ -69,6 +132,7 @@ public class BoardServiceImpl implements BoardService {
      * @return DTO объект BoardResponseDto новой сущности Board.
      */
     @Override
+    @Transactional
     public BoardResponseDto createBoard(UUID userId, BoardDto boardDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
@@ -82,27 +146,33 @@ public class BoardServiceImpl implements BoardService {
 
         user.addEntitlement(newEntitlement);
         userRepository.save(user);
+        entitlementResolver.boardCreated(board.getId(), userId);
 
-        return BoardMapper.toBoardResponseDto(board);
+        return toBoardResponseDto(board);
     }
 
     /**
      * Отправляет приглашение пользователю на присоединение к доске.
      * Отправить приглашения могут только пользователи у которых права доступа OWNER.
+     * Повторное приглашение пользователя в ту же доску ничего не изменяет.
      *
      * @param ownerId Id владельца запроса в формате UUID.
      * @param boardId Id доски в формате UUID.
      * @param userId  Id приглашаемого пользователя в формате UUID.
      */
     @Override
+    @Transactional
     public void inviteUser(UUID ownerId, UUID boardId, UUID userId) {
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(ownerId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(ownerId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(ownerId, boardId);
 
-        if (!entitlement.getEntitlement().equals(EntitlementEnum.OWNER)) {
+        if (!entitlement.equals(EntitlementEnum.OWNER)) {
             throw new UserAccessDeniedException(ownerId);
         }
 
+        if (inviteRepository.findByUserIdAndBoardId(userId, boardId).isPresent()) {
+            return;
+        }
+
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new BoardByIdNotFoundException(boardId));
 
@@ -128,10 +198,9 @@ public class BoardServiceImpl implements BoardService {
      * @throws UserByIdNotFoundException                     если пользователь, которому собираются изменить права не найден.
      */
     @Override
+    @Transactional
     public void issueEntitlement(UUID ownerId, UUID boardId, UUID userId, EntitlementEnum entitlement) {
-        EntitlementEnum ownerEntitlement = entitlementRepository.findByUserIdAndBoardId(ownerId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(ownerId, boardId))
-                .getEntitlement();
+        EntitlementEnum ownerEntitlement = entitlementResolver.getEntitlement(ownerId, boardId);
 
         if (ownerEntitlement.equals(EntitlementEnum.USER) || ownerEntitlement.equals(EntitlementEnum.EDITOR)) {
             throw new UserAccessDeniedException(ownerId);
@@ -158,6 +227,7 @@ public class BoardServiceImpl implements BoardService {
 
         user.addEntitlement(userEntitlement);
         userRepository.save(user);
+        entitlementResolver.entitlementChanged(boardId, userId, entitlement);
     }
 
     /**
@@ -172,11 +242,11 @@ public class BoardServiceImpl implements BoardService {
      * @throws UserAccessDeniedException                     если владельцу запроса отказано в доступе к изменению прав.
      */
     @Override
+    @Transactional
     public BoardResponseDto updateBoardById(UUID userId, UUID boardId, BoardDto boardDto) {
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (!entitlement.getEntitlement().equals(EntitlementEnum.OWNER)) {
+        if (!entitlement.equals(EntitlementEnum.OWNER)) {
             throw new UserAccessDeniedException(userId);
         }
 
@@ -189,12 +259,13 @@ public class BoardServiceImpl implements BoardService {
             board = boardRepository.save(board);
         }
 
-        return BoardMapper.toBoardResponseDto(board);
+        return toBoardResponseDto(board);
     }
 
     /**
      * Удаляет доску по Id. Также удаляет все связанные сущности.
      * Удалить доску могут только пользователи с правами OWNER.
+     * Связанные сущности удаляются базой данных каскадно, поэтому количество запросов не зависит от размера доски.
      *
      * @param userId  Id владельца запроса в формате UUID.
      * @param boardId Id доски в формате UUID.
@@ -203,29 +274,79 @@ public class BoardServiceImpl implements BoardService {
      * @throws UserAccessDeniedException                     если владельцу запроса отказано в доступе к изменению прав.
      */
     @Override
+    @Transactional
     public void deleteBoardById(UUID userId, UUID boardId) {
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (!entitlement.getEntitlement().equals(EntitlementEnum.OWNER)) {
+        if (!entitlement.equals(EntitlementEnum.OWNER)) {
             throw new UserAccessDeniedException(userId);
         }
 
+        if (boardRepository.removeById(boardId) == 0) {
+            throw new BoardByIdNotFoundException(boardId);
+        }
+
+        entitlementResolver.boardDeleted(boardId);
+    }
+
+    private BoardResponseDto toBoardResponseDto(Board board) {
+        BoardResponseDto boardResponseDto = BoardMapper.toBoardResponseDto(board);
+        epicActivityLoader.loadActivityOfBoards(List.of(boardResponseDto));
+
+        return boardResponseDto;
+    }
+
+    private void writeBoard(UUID boardId, TransactionTemplate transaction, OutputStream outputStream) {
+        BoardResponseDto board = transaction.execute(status -> findBoardWithoutEpics(boardId));
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeObjectField("id", board.getId());
+            generator.writeStringField("name", board.getName());
+            generator.writeArrayFieldStart("epics");
+
+            UUID after = Cursor.FIRST_ID;
+            List<EpicResponseDto> epics;
+
+            do {
+                UUID chunkAfter = after;
+                epics = transaction.execute(status -> findEpicChunk(boardId, chunkAfter));
+
+                for (EpicResponseDto epic : epics) {
+                    generator.writeObject(epic);
+                    after = epic.getId();
+                }
+
+                generator.flush();
+            } while (epics.size() == STREAM_CHUNK_SIZE);
+
+            generator.writeEndArray();
+            generator.writeObjectField("users", board.getUsers());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BoardResponseDto findBoardWithoutEpics(UUID boardId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new BoardByIdNotFoundException(boardId));
 
-        Set<Epic> epics = board.getEpics();
+        List<UserResponseDto> users = UserMapper.toUserResponseDtoList(board.getUsers());
 
-        for (Epic epic : epics) {
-            Set<Task> tasks = epic.getTasks();
-            taskRepository.deleteAll(tasks);
-        }
+        return new BoardResponseDto(board.getId(), board.getName(), null, users);
+    }
+
+    private List<EpicResponseDto> findEpicChunk(UUID boardId, UUID after) {
+        List<Epic> epics = epicRepository.findByBoardIdAndIdGreaterThanOrderById(
+                boardId,
+                after,
+                PageRequest.of(0, STREAM_CHUNK_SIZE)
+        );
 
-        List<Invite> invitations = inviteRepository.findAllByBoardId(boardId);
+        List<EpicResponseDto> epicResponseDtos = EpicMapper.toEpicResponseDtoList(epics);
+        epicActivityLoader.loadActivity(epicResponseDtos);
 
-        inviteRepository.deleteAll(invitations);
-        entitlementRepository.deleteAllByBoardId(boardId);
-        epicRepository.deleteAll(epics);
-        boardRepository.deleteById(boardId);
+        return epicResponseDtos;
     }
 }
@@ -0,0 +1,70 @@
+package ru.itone.service.epic;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.epic.comment.Comment;
+import ru.itone.model.epic.comment.CommentMapper;
+import ru.itone.model.epic.comment.EpicCommentCountView;
+import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.repository.CommentRepository;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Заполняет в EpicResponseDto количество комментариев эпика и последние комментарии.
+ * Для любого числа эпиков выполняется два запроса, коллекция Epic.activity при этом не загружается.
+ */
+@Component
+public class EpicActivityLoader {
+    private final CommentRepository commentRepository;
+    private final int latestComments;
+
+    public EpicActivityLoader(CommentRepository commentRepository,
+                              @Value("${task-tracker.epic.latest-comments:5}") int latestComments) {
+        this.commentRepository = commentRepository;
+        this.latestComments = latestComments;
+    }
+
+    /**
+     * Заполняет комментарии эпиков всех переданных досок.
+     *
+     * @param boards DTO объекты досок.
+     */
+    public void loadActivityOfBoards(Collection<BoardResponseDto> boards) {
+        loadActivity(boards.stream()
+                .filter(board -> board.getEpics() != null)
+                .flatMap(board -> board.getEpics().stream())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Заполняет количество комментариев и не более task-tracker.epic.latest-comments последних комментариев
+     * каждого из эпиков, от новых к старым. Остальные комментарии доступны через ленту комментариев эпика.
+     *
+     * @param epics DTO объекты эпиков.
+     */
+    public void loadActivity(Collection<EpicResponseDto> epics) {
+        if (epics.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> epicIds = epics.stream()
+                .map(EpicResponseDto::getId)
+                .collect(Collectors.toSet());
+
+        Map<UUID, Long> commentCounts = commentRepository.countByEpicIds(epicIds).stream()
+                .collect(Collectors.toMap(EpicCommentCountView::getEpicId, EpicCommentCountView::getCommentCount));
+
+        Map<UUID, List<Comment>> comments = latestComments > 0
+                ? commentRepository.findLatestByEpicIds(epicIds, latestComments).stream()
+                        .collect(Collectors.groupingBy(comment -> comment.getEpic().getId()))
+                : Map.of();
+
+        for (EpicResponseDto epic : epics) {
+            epic.setCommentCount(commentCounts.getOrDefault(epic.getId(), 0L));
+            epic.setActivity(CommentMapper.toCommentResponseDtoList(comments.getOrDefault(epic.getId(), List.of())));
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package ru.itone.service.epic;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.itone.model.epic.comment.dto.CommentDto;
 import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.epic.dto.EpicSummaryDto;
+import ru.itone.model.pagination.CursorPage;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface EpicService {
-    List<EpicResponseDto> findEpicsByBoardId(UUID boarId);
+    CursorPage<EpicSummaryDto> findEpicsByBoardId(UUID boarId, String cursor, Integer size);
+
+    StreamingResponseBody streamEpicsByBoardId(UUID boardId);
 
     EpicResponseDto findEpicById(UUID epicId);
 
+    CursorPage<CommentResponseDto> findCommentsByEpicId(UUID epicId, String cursor, Integer size);
+
     EpicResponseDto createEpic(UUID userId,
                                UUID boardId,
                                EpicDto epicDto);
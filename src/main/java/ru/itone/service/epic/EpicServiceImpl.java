@@ -1,7 +1,17 @@
 package ru.itone.service.epic;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.config.MetricsConfig;
 import ru.itone.exception.board.BoardByIdNotFoundException;
 import ru.itone.exception.epic.EpicByIdNotFoundException;
 import ru.itone.exception.epic.comment.CommentByIdNotFoundException;
@@ -18,45 +28,123 @@ import ru.itone.model.epic.comment.dto.CommentDto;
 import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.epic.dto.EpicSummaryDto;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.Task;
-import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
 import ru.itone.repository.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class EpicServiceImpl implements EpicService {
+    /**
+     * Количество кратких сведений об эпиках, читаемых в одной транзакции при потоковой выдаче.
+     */
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     private final UserRepository userRepository;
-    private final EntitlementRepository entitlementRepository;
     private final BoardRepository boardRepository;
     private final EpicRepository epicRepository;
     private final TaskRepository taskRepository;
     private final CommentRepository commentRepository;
+    private final EpicActivityLoader epicActivityLoader;
+    private final EntitlementResolver entitlementResolver;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
 
     /**
-     * Возвращает все Эпики одной доски по Id постранично используя Pageable.
+     * Возвращает краткие сведения об Эпиках одной доски постранично в порядке Id.
+     * Полная информация об эпике с задачами, комментариями и участниками доступна через findEpicById.
      *
      * @param boardId Id доски.
-     * @return Список DTO объектов эпиков.
+     * @param cursor  Курсор следующей страницы из предыдущего ответа или null для первой страницы.
+     * @param size    Размер страницы.
+     * @return Страница кратких DTO объектов эпиков.
+     * @throws BoardByIdNotFoundException          В случае если доска не найдена.
+     * @throws javax.validation.ValidationException В случае если курсор имеет неверный формат.
+     */
+    @Override
+    public CursorPage<EpicSummaryDto> findEpicsByBoardId(UUID boardId, String cursor, Integer size) {
+        if (!boardRepository.existsById(boardId)) {
+            throw new BoardByIdNotFoundException(boardId);
+        }
+
+        List<EpicSummaryDto> epics = epicRepository.findSummariesByBoardId(
+                boardId,
+                Cursor.decodeId(cursor),
+                PageRequest.of(0, size + 1)
+        );
+
+        return CursorPage.of(epics, size, epic -> Cursor.encode(epic.getId()));
+    }
+
+    /**
+     * Возвращает краткие сведения о всех Эпиках доски в виде JSON-массива,
+     * записываемого в ответ порциями по STREAM_CHUNK_SIZE.
+     * Расход памяти на запрос не зависит от количества эпиков доски.
+     * Каждая порция читается в своей короткой транзакции только для чтения и записывается в ответ после её завершения,
+     * поэтому медленный клиент не удерживает соединение из пула.
+     *
+     * @param boardId Id доски.
+     * @return Тело ответа, которое читает каждую порцию эпиков в отдельной транзакции только для чтения.
      * @throws BoardByIdNotFoundException В случае если доска не найдена.
      */
     @Override
-    public List<EpicResponseDto> findEpicsByBoardId(UUID boardId) {
-        Board board = boardRepository.findById(boardId)
-                .orElseThrow(() -> new BoardByIdNotFoundException(boardId));
+    public StreamingResponseBody streamEpicsByBoardId(UUID boardId) {
+        if (!boardRepository.existsById(boardId)) {
+            throw new BoardByIdNotFoundException(boardId);
+        }
 
-        Set<Epic> epics = board.getEpics();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
 
-        return EpicMapper.toEpicResponseDtoList(epics);
+        return outputStream -> writeEpicSummaries(boardId, transaction, outputStream);
+    }
+
+    /**
+     * Возвращает ленту комментариев Эпика постранично, от новых к старым.
+     * Страница начинается после комментария, на котором закончилась предыдущая,
+     * поэтому стоимость запроса не зависит от количества комментариев эпика.
+     *
+     * @param epicId Id эпика.
+     * @param cursor Курсор следующей страницы из предыдущего ответа или null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница DTO объектов комментариев.
+     * @throws EpicByIdNotFoundException           В случае если эпик не найден.
+     * @throws javax.validation.ValidationException В случае если курсор имеет неверный формат.
+     */
+    @Override
+    public CursorPage<CommentResponseDto> findCommentsByEpicId(UUID epicId, String cursor, Integer size) {
+        if (!epicRepository.existsById(epicId)) {
+            throw new EpicByIdNotFoundException(epicId);
+        }
+
+        Cursor before = Cursor.decodeCreatedTimeAndId(cursor);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+
+        List<Comment> comments = before == null
+                ? commentRepository.findByEpicIdOrderByCreatedTimeDescIdDesc(epicId, pageRequest)
+                : commentRepository.findByEpicIdBefore(epicId, before.getCreatedTime(), before.getId(), pageRequest);
+
+        return CursorPage.of(comments, size, comment -> Cursor.encode(comment.getCreatedTime(), comment.getId()))
+                .map(CommentMapper::toCommentResponseDto);
     }
 
     /**
      * Находит Эпик по Id.
+     * Из комментариев эпика в ответ попадают только их количество и последние комментарии,
+     * вся лента доступна через findCommentsByEpicId.
      *
      * @param epicId Id эпика.
      * @return DTO объект эпика.
@@ -67,7 +155,7 @@ public class EpicServiceImpl implements EpicService {
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
-        return EpicMapper.toEpicResponseDto(epic);
+        return toEpicResponseDto(epic);
     }
 
     /**
@@ -79,20 +167,15 @@ public class EpicServiceImpl implements EpicService {
      * @param boardId Id доски задач.
      * @return DTO объект нового эпика.
      * @throws BoardByIdNotFoundException                    если доска не найдена.
-     * @throws UserByIdNotFoundException                     если пользователь не найден.
      * @throws UserRightsByUserIdAndBoardIdNotFoundException если права владельца запроса не найдены в доске.
+     * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public EpicResponseDto createEpic(UUID userId, UUID boardId, EpicDto epicDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserByIdNotFoundException(userId));
-
-        Entitlement entitlement = user.getEntitlements().stream()
-                .filter(e -> e.getBoard().getId().equals(boardId))
-                .findFirst()
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (entitlement.getEntitlement().equals(EntitlementEnum.USER)) {
+        if (entitlement.equals(EntitlementEnum.USER)) {
             throw new UserAccessDeniedException(userId);
         }
 
@@ -105,7 +188,7 @@ public class EpicServiceImpl implements EpicService {
         board.addEpic(epic);
         boardRepository.save(board);
 
-        return EpicMapper.toEpicResponseDto(epic);
+        return toEpicResponseDto(epic);
     }
 
     /**
@@ -121,6 +204,7 @@ public class EpicServiceImpl implements EpicService {
      * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
      */
     @Override
+    @Transactional
     public CommentResponseDto createCommentByEpicId(UUID userId, UUID epicId, CommentDto commentDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
@@ -128,18 +212,12 @@ public class EpicServiceImpl implements EpicService {
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
-        UUID boardId = epic.getBoard().getId();
-
-        user.getEntitlements().stream()
-                .filter(e -> e.getBoard().getId().equals(boardId))
-                .findFirst()
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        entitlementResolver.getEntitlement(userId, epic.getBoard().getId());
 
         Comment comment = new Comment(commentDto, user, epic);
         comment = commentRepository.save(comment);
 
         epic.addComment(comment);
-        epicRepository.save(epic);
 
         return CommentMapper.toCommentResponseDto(comment);
     }
@@ -152,27 +230,19 @@ public class EpicServiceImpl implements EpicService {
      * @param epicId  Id эпика для обновления.
      * @param epicDto DTO объект содержащий информацию об обновляемом эпике.
      * @return DTO объект обновлённой сущности эпика.
-     * @throws UserByIdNotFoundException                     если пользователь не найден.
      * @throws EpicByIdNotFoundException                     В случае если сущность не найдена.
      * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
      * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public EpicResponseDto updateEpicById(UUID userId, UUID epicId, EpicDto epicDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserByIdNotFoundException(userId));
-
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
-        UUID boardId = epic.getBoard().getId();
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, epic.getBoard().getId());
 
-        Entitlement entitlement = user.getEntitlements().stream()
-                .filter(e -> e.getBoard().getId().equals(boardId))
-                .findFirst()
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
-
-        if (entitlement.getEntitlement().equals(EntitlementEnum.USER)) {
+        if (entitlement.equals(EntitlementEnum.USER)) {
             throw new UserAccessDeniedException(userId);
         }
 
@@ -184,7 +254,7 @@ public class EpicServiceImpl implements EpicService {
             epic.setDescription(epicDto.getDescription());
         }
 
-        return EpicMapper.toEpicResponseDto(epicRepository.save(epic));
+        return toEpicResponseDto(epicRepository.save(epic));
     }
 
     /**
@@ -198,6 +268,7 @@ public class EpicServiceImpl implements EpicService {
      * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя не найдены.
      */
     @Override
+    @Transactional
     public void takeEpic(UUID userId, UUID epicId) {
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
@@ -205,8 +276,7 @@ public class EpicServiceImpl implements EpicService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
 
-        entitlementRepository.findByUserIdAndBoardId(userId, epic.getBoard().getId())
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, epic.getBoard().getId()));
+        entitlementResolver.getEntitlement(userId, epic.getBoard().getId());
 
         epic.addUser(user);
         epicRepository.save(epic);
@@ -222,6 +292,7 @@ public class EpicServiceImpl implements EpicService {
      * @throws UserNotFoundInEpicException если пользователь не найден в числе участников эпика.
      */
     @Override
+    @Transactional
     public void refuseEpic(UUID userId, UUID epicId) {
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
@@ -252,6 +323,7 @@ public class EpicServiceImpl implements EpicService {
      * @throws UserAccessDeniedException    если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public CommentResponseDto updateCommentById(UUID userId, UUID commentId, CommentDto commentDto) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new CommentByIdNotFoundException(commentId));
@@ -278,11 +350,11 @@ public class EpicServiceImpl implements EpicService {
      * @throws BoardByIdNotFoundException                    если доска не найдена.
      */
     @Override
+    @Transactional
     public void deleteEpicById(UUID userId, UUID boardId, UUID epicId) {
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (entitlement.getEntitlement().equals(EntitlementEnum.USER)) {
+        if (entitlement.equals(EntitlementEnum.USER)) {
             throw new UserAccessDeniedException(userId);
         }
 
@@ -318,30 +390,61 @@ public class EpicServiceImpl implements EpicService {
      * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public void deleteCommentById(UUID userId, UUID epicId, UUID commentId) {
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
         UUID boardId = epic.getBoard().getId();
 
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlementEnum = entitlementResolver.getEntitlement(userId, boardId);
 
-        Comment comment = epic.getActivity().stream()
-                .filter(c -> c.getId().equals(commentId))
-                .findFirst()
+        Comment comment = commentRepository.findById(commentId)
+                .filter(c -> c.getEpic().getId().equals(epicId))
                 .orElseThrow(() -> new CommentByIdNotFoundException(commentId));
 
-        EntitlementEnum entitlementEnum = entitlement.getEntitlement();
-
         if (!comment.getAuthor().getId().equals(userId) &&
                 (entitlementEnum.equals(EntitlementEnum.USER) || entitlementEnum.equals(EntitlementEnum.EDITOR))) {
             throw new UserAccessDeniedException(userId);
         }
 
-        epic.getActivity().remove(comment);
-        epicRepository.save(epic);
-
+        epic.removeComment(comment);
         commentRepository.deleteById(commentId);
     }
+
+    private void writeEpicSummaries(UUID boardId, TransactionTemplate transaction, OutputStream outputStream) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+
+            UUID after = Cursor.FIRST_ID;
+            List<EpicSummaryDto> epics;
+
+            do {
+                UUID chunkAfter = after;
+                epics = transaction.execute(status -> epicRepository.findSummariesByBoardId(
+                        boardId,
+                        chunkAfter,
+                        PageRequest.of(0, STREAM_CHUNK_SIZE)
+                ));
+
+                for (EpicSummaryDto epic : epics) {
+                    generator.writeObject(epic);
+                    after = epic.getId();
+                }
+
+                generator.flush();
+            } while (epics.size() == STREAM_CHUNK_SIZE);
+
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private EpicResponseDto toEpicResponseDto(Epic epic) {
+        EpicResponseDto epicResponseDto = EpicMapper.toEpicResponseDto(epic);
+        epicActivityLoader.loadActivity(List.of(epicResponseDto));
+
+        return epicResponseDto;
+    }
 }
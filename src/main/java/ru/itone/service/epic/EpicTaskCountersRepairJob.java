@@ -0,0 +1,56 @@
+package ru.itone.service.epic;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.itone.model.epic.EpicStatus;
+import ru.itone.model.epic.EpicTaskCountersView;
+import ru.itone.repository.EpicRepository;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EpicTaskCountersRepairJob {
+    private final EpicRepository epicRepository;
+
+    /**
+     * Сверяет счётчики задач всех эпиков с фактическим содержимым таблицы Tasks
+     * и пересчитывает счётчики и статус эпиков, в которых обнаружено расхождение.
+     *
+     * @return Количество исправленных эпиков.
+     */
+    @Scheduled(cron = "${task-tracker.epic.task-counters-repair.cron:0 0 3 * * *}")
+    public int repairTaskCounters() {
+        List<EpicTaskCountersView> drifted = epicRepository.findEpicsWithTaskCountersDrift();
+
+        int repaired = 0;
+
+        for (EpicTaskCountersView counters : drifted) {
+            int totalTasks = counters.getActualTotalTasks().intValue();
+            int completedTasks = counters.getActualCompletedTasks().intValue();
+
+            log.warn("Расхождение счётчиков задач эпика с ID: '{}': сохранено {}/{}, фактически {}/{}.",
+                    counters.getId(),
+                    counters.getCompletedTasks(), counters.getTotalTasks(),
+                    completedTasks, totalTasks);
+
+            repaired += epicRepository.repairTaskCounters(
+                    counters.getId(),
+                    counters.getTotalTasks(),
+                    counters.getCompletedTasks(),
+                    totalTasks,
+                    completedTasks,
+                    EpicStatus.of(totalTasks, completedTasks)
+            );
+        }
+
+        if (!drifted.isEmpty()) {
+            log.info("Пересчёт счётчиков задач: исправлено эпиков {} из {}.", repaired, drifted.size());
+        }
+
+        return repaired;
+    }
+}
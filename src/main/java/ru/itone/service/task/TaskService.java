@@ -1,5 +1,6 @@
 package ru.itone.service.task;
 
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.task.dto.TaskResponseDto;
 
@@ -7,15 +8,19 @@ import java.util.List;
 import java.util.UUID;
 
 public interface TaskService {
-    List<TaskResponseDto> findTasksByEpicId(UUID epicId);
+    CursorPage<TaskResponseDto> findTasksByEpicId(UUID epicId, String cursor, Integer size);
 
     TaskResponseDto findTaskById(UUID taskId);
 
     TaskResponseDto createTaskById(UUID userId, UUID epicId, TaskDto taskDto);
 
+    List<TaskResponseDto> createTasks(UUID userId, UUID epicId, List<TaskDto> taskDtos);
+
     TaskResponseDto updateTaskById(UUID userId, UUID taskId, TaskDto taskDto);
 
     TaskResponseDto updateCompletedTask(UUID userId, UUID epicId, UUID taskId, Boolean completed);
 
+    List<TaskResponseDto> updateCompletedTasks(UUID userId, UUID epicId, List<UUID> taskIds, Boolean completed);
+
     void deleteTaskById(UUID userId, UUID epicId, UUID taskId);
 }
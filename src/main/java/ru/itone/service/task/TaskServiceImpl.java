@@ -1,53 +1,70 @@
 package ru.itone.service.task;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.config.MetricsConfig;
 import ru.itone.exception.epic.EpicByIdNotFoundException;
 import ru.itone.exception.task.TaskByIdNotFoundException;
 import ru.itone.exception.user.UserAccessDeniedException;
 import ru.itone.exception.user.UserByIdNotFoundException;
 import ru.itone.exception.user.UserRightsByUserIdAndBoardIdNotFoundException;
 import ru.itone.model.epic.Epic;
-import ru.itone.model.epic.EpicStatus;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.Task;
 import ru.itone.model.task.TaskMapper;
 import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.task.dto.TaskResponseDto;
-import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
-import ru.itone.repository.EntitlementRepository;
 import ru.itone.repository.EpicRepository;
 import ru.itone.repository.TaskRepository;
 import ru.itone.repository.UserRepository;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
-    private final EntitlementRepository entitlementRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final EpicRepository epicRepository;
+    private final EntitlementResolver entitlementResolver;
 
     /**
-     * Находит список задач по Id эпика.
+     * Находит задачи эпика постранично в порядке Id.
      *
      * @param epicId Id эпика.
-     * @return Список DTO объектов задач.
-     * @throws EpicByIdNotFoundException если эпик не найдена.
+     * @param cursor Курсор следующей страницы из предыдущего ответа или null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница DTO объектов задач.
+     * @throws EpicByIdNotFoundException           если эпик не найдена.
+     * @throws javax.validation.ValidationException если курсор имеет неверный формат.
      */
     @Override
-    public List<TaskResponseDto> findTasksByEpicId(UUID epicId) {
-        Epic epic = epicRepository.findById(epicId)
-                .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
+    public CursorPage<TaskResponseDto> findTasksByEpicId(UUID epicId, String cursor, Integer size) {
+        if (!epicRepository.existsById(epicId)) {
+            throw new EpicByIdNotFoundException(epicId);
+        }
 
-        Set<Task> tasks = epic.getTasks();
+        List<Task> tasks = taskRepository.findByEpicIdAndIdGreaterThanOrderById(
+                epicId,
+                Cursor.decodeId(cursor),
+                PageRequest.of(0, size + 1)
+        );
 
-        return TaskMapper.toTaskResponseDtoList(tasks);
+        return CursorPage.of(tasks, size, task -> Cursor.encode(task.getId()))
+                .map(TaskMapper::toTaskResponseDto);
     }
 
     /**
@@ -66,7 +83,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     /**
-     * Создаёт новую задачу на основе DTO объекта.
+     * Создаёт новую задачу на основе DTO объекта. Также обновляет счётчик задач и статус эпика.
      * Создавать задачи могут пользователи с права OWNER, ADMIN или EDITOR.
      *
      * @param userId  Id владельца запроса.
@@ -78,33 +95,67 @@ public class TaskServiceImpl implements TaskService {
      * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public TaskResponseDto createTaskById(UUID userId, UUID epicId, TaskDto taskDto) {
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
         UUID boardId = epic.getBoard().getId();
 
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (entitlement.getEntitlement().equals(EntitlementEnum.USER)) {
+        if (entitlement.equals(EntitlementEnum.USER)) {
             throw new UserAccessDeniedException(userId);
         }
 
         Task task = new Task(taskDto, epic);
         task = taskRepository.save(task);
 
-        Set<Task> tasks = epic.getTasks();
-        tasks.add(task);
-
-        epic.setTasks(tasks);
-        EpicStatus status = checkStatus(tasks);
-        epic.setStatus(status);
-        epicRepository.save(epic);
+        epicRepository.updateTaskCounters(epicId, 1, 0);
 
         return TaskMapper.toTaskResponseDto(task);
     }
 
+    /**
+     * Создаёт несколько задач в эпике одной транзакцией.
+     * Права пользователя проверяются один раз, задачи сохраняются пакетной вставкой,
+     * а счётчик задач и статус эпика обновляются одним запросом.
+     * Создавать задачи могут пользователи с права OWNER, ADMIN или EDITOR.
+     *
+     * @param userId   Id владельца запроса.
+     * @param epicId   ID эпика.
+     * @param taskDtos Список DTO объектов содержащих информацию о новых задачах.
+     * @return Список DTO объектов новых задач в порядке запроса.
+     * @throws EpicByIdNotFoundException                     если эпик не найден.
+     * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
+     * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
+     */
+    @Override
+    @Transactional
+    public List<TaskResponseDto> createTasks(UUID userId, UUID epicId, List<TaskDto> taskDtos) {
+        Epic epic = epicRepository.findById(epicId)
+                .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
+
+        UUID boardId = epic.getBoard().getId();
+
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
+
+        if (entitlement.equals(EntitlementEnum.USER)) {
+            throw new UserAccessDeniedException(userId);
+        }
+
+        List<Task> tasks = taskDtos.stream()
+                .map(taskDto -> new Task(taskDto, epic))
+                .collect(Collectors.toList());
+        tasks = taskRepository.saveAll(tasks);
+
+        epicRepository.updateTaskCounters(epicId, tasks.size(), 0);
+
+        return tasks.stream()
+                .map(TaskMapper::toTaskResponseDto)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Обновляет существующую задачу на основе DTO объекта.
      * Обновлять задачи могут пользователи с права в доске OWNER, ADMIN или EDITOR.
@@ -118,16 +169,16 @@ public class TaskServiceImpl implements TaskService {
      * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public TaskResponseDto updateTaskById(UUID userId, UUID taskId, TaskDto taskDto) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskByIdNotFoundException(taskId));
 
         UUID boardId = task.getEpic().getBoard().getId();
 
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (entitlement.getEntitlement().equals(EntitlementEnum.USER)) {
+        if (entitlement.equals(EntitlementEnum.USER)) {
             throw new UserAccessDeniedException(userId);
         }
 
@@ -141,7 +192,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     /**
-     * Обновляет статус задачи. Также обновляет статус эпика на основе списка задач.
+     * Обновляет статус задачи. Также обновляет счётчик выполненных задач и статус эпика.
      * Обновлять статус задач могут участники эпика, либо пользователи с правами в доске OWNER или ADMIN.
      *
      * @param userId    Id владельца запроса.
@@ -151,16 +202,18 @@ public class TaskServiceImpl implements TaskService {
      * @return DTO объект обновлённой задачи.
      * @throws UserByIdNotFoundException                     если пользователь не найден.
      * @throws EpicByIdNotFoundException                     если эпик не найден.
-     * @throws TaskByIdNotFoundException                     если задача не найдена.
+     * @throws TaskByIdNotFoundException                     если задача не найдена в эпике.
      * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
      * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
+    @Transactional
     public TaskResponseDto updateCompletedTask(UUID userId, UUID epicId, UUID taskId, Boolean completed) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
 
         Task task = taskRepository.findById(taskId)
+                .filter(t -> t.getEpic().getId().equals(epicId))
                 .orElseThrow(() -> new TaskByIdNotFoundException(taskId));
 
         Epic epic = epicRepository.findById(epicId)
@@ -168,106 +221,118 @@ public class TaskServiceImpl implements TaskService {
 
         UUID boardId = epic.getBoard().getId();
 
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
-
-        EntitlementEnum entitlementEnum = entitlement.getEntitlement();
+        EntitlementEnum entitlementEnum = entitlementResolver.getEntitlement(userId, boardId);
 
         if (!epic.getUsers().contains(user) &&
                 (entitlementEnum.equals(EntitlementEnum.USER) || entitlementEnum.equals(EntitlementEnum.EDITOR))) {
             throw new UserAccessDeniedException(userId);
         }
 
-        Set<Task> tasks = epic.getTasks();
-        tasks.remove(task);
+        if (taskRepository.updateCompleted(taskId, completed) > 0) {
+            epicRepository.updateTaskCounters(epicId, 0, completed ? 1 : -1);
+        }
 
         task.setIsCompleted(completed);
-        tasks.add(task);
-        taskRepository.save(task);
-
-        epic.setTasks(tasks);
-        EpicStatus status = checkStatus(tasks);
-        epic.setStatus(status);
-        epicRepository.save(epic);
 
         return TaskMapper.toTaskResponseDto(task);
     }
 
     /**
-     * Удаляет задачу по её ID. Также обновляет статус эпика на основе оставшегося списка задач.
-     * Удалить задачу могут пользователи с права в доске OWNER, ADMIN или EDITOR.
+     * Обновляет статус нескольких задач эпика одной транзакцией.
+     * Права пользователя проверяются один раз, статус задач обновляется одним запросом,
+     * а счётчик выполненных задач и статус эпика пересчитываются один раз на количество фактически изменённых задач.
+     * Обновлять статус задач могут участники эпика, либо пользователи с правами в доске OWNER или ADMIN.
      *
-     * @param userId Id владельца запроса.
-     * @param epicId Id эпика.
-     * @param taskId Id задачи.
-     * @throws EpicByIdNotFoundException                     если эпик не найдена.
-     * @throws TaskByIdNotFoundException                     если задача не найдена.
+     * @param userId    Id владельца запроса.
+     * @param epicId    Id эпика.
+     * @param taskIds   Список Id задач.
+     * @param completed boolean значение выполнения задач.
+     * @return Список DTO объектов обновлённых задач.
+     * @throws UserByIdNotFoundException                     если пользователь не найден.
+     * @throws EpicByIdNotFoundException                     если эпик не найден.
+     * @throws TaskByIdNotFoundException                     если хотя бы одна задача не найдена в эпике.
      * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
      * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
     @Override
-    public void deleteTaskById(UUID userId, UUID epicId, UUID taskId) {
+    @Transactional
+    public List<TaskResponseDto> updateCompletedTasks(UUID userId, UUID epicId, List<UUID> taskIds, Boolean completed) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserByIdNotFoundException(userId));
+
         Epic epic = epicRepository.findById(epicId)
                 .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskByIdNotFoundException(taskId));
-
         UUID boardId = epic.getBoard().getId();
 
-        Entitlement entitlement = entitlementRepository.findByUserIdAndBoardId(userId, boardId)
-                .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(userId, boardId));
+        EntitlementEnum entitlementEnum = entitlementResolver.getEntitlement(userId, boardId);
 
-        if (entitlement.getEntitlement().equals(EntitlementEnum.USER)) {
+        if (!epic.getUsers().contains(user) &&
+                (entitlementEnum.equals(EntitlementEnum.USER) || entitlementEnum.equals(EntitlementEnum.EDITOR))) {
             throw new UserAccessDeniedException(userId);
         }
-        Set<Task> tasks = epic.getTasks();
-        tasks.remove(task);
 
-        epic.setTasks(tasks);
-        EpicStatus status = checkStatus(tasks);
-        epic.setStatus(status);
-        epicRepository.save(epic);
+        Set<UUID> ids = new LinkedHashSet<>(taskIds);
+        List<Task> tasks = taskRepository.findByEpicIdAndIdIn(epicId, ids);
+
+        if (tasks.size() != ids.size()) {
+            Set<UUID> foundIds = tasks.stream()
+                    .map(Task::getId)
+                    .collect(Collectors.toSet());
+
+            UUID missingId = ids.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .findFirst()
+                    .orElseThrow();
+
+            throw new TaskByIdNotFoundException(missingId);
+        }
+
+        int changed = taskRepository.updateCompletedByEpicId(epicId, ids, completed);
+
+        if (changed > 0) {
+            epicRepository.updateTaskCounters(epicId, 0, completed ? changed : -changed);
+        }
 
-        taskRepository.deleteById(taskId);
+        tasks.forEach(task -> task.setIsCompleted(completed));
+
+        return tasks.stream()
+                .map(TaskMapper::toTaskResponseDto)
+                .collect(Collectors.toList());
     }
 
     /**
-     * Алгоритм для проверки статуса Эпика, он работает следующим образом:
-     * Инициализирует две boolean переменные hasTrue и hasFalse со значениями false.
-     * Проходимся по всему списку задач и если поле isCompleted = true присваиваем true переменной hasTrue,
-     * иначе присваиваем true переменной hasFalse.
-     * Если во время прохода по списку hasTrue и hasFalse равны true - возвращаем статус EpicStatus.DOING.
-     * Если после прохода списка значение hasTrue = true, а значение hasFalse = false - возвращаем статус EpicStatus.DONE.
-     * Если после прохода списка значение hasTrue = false, а значение hasFalse = true - возвращаем статус EpicStatus.TODO.
+     * Удаляет задачу по её ID. Также обновляет счётчики задач и статус эпика.
+     * Удалить задачу могут пользователи с права в доске OWNER, ADMIN или EDITOR.
      *
-     * @param tasks Список задач Эпика.
-     * @return Enum статус задачи эпика. Он может быть равен: .TODO, .DONE, .DOING.
+     * @param userId Id владельца запроса.
+     * @param epicId Id эпика.
+     * @param taskId Id задачи.
+     * @throws EpicByIdNotFoundException                     если эпик не найдена.
+     * @throws TaskByIdNotFoundException                     если задача не найдена в эпике.
+     * @throws UserRightsByUserIdAndBoardIdNotFoundException если права пользователя в доске не найдены.
+     * @throws UserAccessDeniedException                     если пользователю отказано в доступе.
      */
-    private EpicStatus checkStatus(Set<Task> tasks) {
-        if (tasks == null) {
-            return EpicStatus.TODO;
-        }
+    @Override
+    @Transactional
+    public void deleteTaskById(UUID userId, UUID epicId, UUID taskId) {
+        Epic epic = epicRepository.findById(epicId)
+                .orElseThrow(() -> new EpicByIdNotFoundException(epicId));
 
-        boolean hasTrue = false;
-        boolean hasFalse = false;
+        Task task = taskRepository.findById(taskId)
+                .filter(t -> t.getEpic().getId().equals(epicId))
+                .orElseThrow(() -> new TaskByIdNotFoundException(taskId));
+
+        UUID boardId = epic.getBoard().getId();
 
-        for (Task task : tasks) {
-            if (task.getIsCompleted()) {
-                hasTrue = true;
-            } else {
-                hasFalse = true;
-            }
+        EntitlementEnum entitlement = entitlementResolver.getEntitlement(userId, boardId);
 
-            if (hasTrue && hasFalse) {
-                return EpicStatus.DOING;
-            }
+        if (entitlement.equals(EntitlementEnum.USER)) {
+            throw new UserAccessDeniedException(userId);
         }
 
-        if (hasTrue) {
-            return EpicStatus.DONE;
-        } else {
-            return EpicStatus.TODO;
+        if (taskRepository.removeById(taskId) > 0) {
+            epicRepository.updateTaskCounters(epicId, -1, task.getIsCompleted() ? -1 : 0);
         }
     }
 }
@@ -1,7 +1,12 @@
 package ru.itone.service.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.cache.UserSessionCache;
+import ru.itone.config.MetricsConfig;
 import ru.itone.exception.board.BoardByIdNotFoundException;
 import ru.itone.exception.user.*;
 import ru.itone.model.board.Board;
@@ -18,6 +23,7 @@ import ru.itone.model.user.dto.UserDto;
 import ru.itone.model.user.dto.UserResponseDto;
 import ru.itone.repository.*;
 import ru.itone.service.board.BoardService;
+import ru.itone.service.epic.EpicActivityLoader;
 
 import java.util.List;
 import java.util.Objects;
@@ -25,6 +31,8 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
@@ -33,6 +41,9 @@ public class UserServiceImpl implements UserService {
     private final BoardRepository boardRepository;
     private final EntitlementRepository entitlementRepository;
     private final CommentRepository commentRepository;
+    private final UserSessionCache userSessionCache;
+    private final EntitlementResolver entitlementResolver;
+    private final EpicActivityLoader epicActivityLoader;
 
     /**
      * Находит пользователя по его Id.
@@ -59,9 +70,12 @@ public class UserServiceImpl implements UserService {
     public List<BoardResponseDto> findInviteByUser(UUID userId) {
         List<Invite> invitations = inviteRepository.findAllByUserIdAndConfirmed(userId, false);
 
-        return invitations.stream()
+        List<BoardResponseDto> boards = invitations.stream()
                 .map(i -> BoardMapper.toBoardResponseDto(i.getBoard()))
                 .collect(Collectors.toList());
+        epicActivityLoader.loadActivityOfBoards(boards);
+
+        return boards;
     }
 
 
@@ -72,6 +86,7 @@ public class UserServiceImpl implements UserService {
      * @return DTO объект нового пользователя.
      */
     @Override
+    @Transactional
     public UserResponseDto registerUser(RegisterFormDto registerFormDto) {
         User user = new User(registerFormDto);
 
@@ -90,6 +105,7 @@ public class UserServiceImpl implements UserService {
      * @throws UserLoginHasBeenCompletedException если пользователь уже вошел в систему ранее.
      */
     @Override
+    @Transactional
     public UserResponseDto login(LoginFormDto loginFormDto) {
         User user = userRepository.findByEmail(loginFormDto.getEmail())
                 .orElseThrow(() -> new UserByEmailNotFoundException(loginFormDto.getEmail()));
@@ -104,6 +120,7 @@ public class UserServiceImpl implements UserService {
 
         user.setLogon(true);
         userRepository.save(user);
+        userSessionCache.invalidate(user.getId());
 
         return UserMapper.toUserResponseDto(user);
     }
@@ -116,12 +133,14 @@ public class UserServiceImpl implements UserService {
      * @throws UserByIdNotFoundException если пользователь не найден.
      */
     @Override
+    @Transactional
     public UserResponseDto logout(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
 
         user.setLogon(false);
         userRepository.save(user);
+        userSessionCache.invalidate(userId);
 
         return UserMapper.toUserResponseDto(user);
     }
@@ -129,6 +148,7 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Позволяет пользователю подтвердить приглашение в доску.
+     * Повторное подтверждение приглашения ничего не изменяет.
      *
      * @param userId  Id владельца запроса.
      * @param boardId Id доски в которую необходимо принять приглашение.
@@ -137,10 +157,15 @@ public class UserServiceImpl implements UserService {
      * @throws BoardByIdNotFoundException                если доска не найдена.
      */
     @Override
+    @Transactional
     public void confirmInvite(UUID userId, UUID boardId) {
         Invite invite = inviteRepository.findByUserIdAndBoardId(userId, boardId)
                 .orElseThrow(() -> new InviteByUserIdAndBoardIdNotFoundException(userId, boardId));
 
+        if (invite.getConfirmed()) {
+            return;
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
 
@@ -156,6 +181,7 @@ public class UserServiceImpl implements UserService {
 
         board.addUser(user);
         boardRepository.save(board);
+        entitlementResolver.entitlementChanged(boardId, userId, EntitlementEnum.USER);
     }
 
 
@@ -168,6 +194,7 @@ public class UserServiceImpl implements UserService {
      * @throws UserByIdNotFoundException если пользователь не найден.
      */
     @Override
+    @Transactional
     public UserResponseDto updateUserById(UUID userId, UserDto userDto) {
         User userUpdate = userRepository.findById(userId).
                 orElseThrow(() -> new UserByIdNotFoundException(userId));
@@ -184,7 +211,10 @@ public class UserServiceImpl implements UserService {
             userUpdate.setEmail(userDto.getEmail());
         }
 
-        return UserMapper.toUserResponseDto(userRepository.save(userUpdate));
+        userUpdate = userRepository.save(userUpdate);
+        userSessionCache.invalidate(userId);
+
+        return UserMapper.toUserResponseDto(userUpdate);
     }
 
 
@@ -201,6 +231,7 @@ public class UserServiceImpl implements UserService {
      * @throws BoardByIdNotFoundException если доска не найдена.
      */
     @Override
+    @Transactional
     public void deleteUserById(UUID userId) {
         List<Entitlement> entitlementsOwnerThisUser =
                 entitlementRepository.findAllByUserIdAndEntitlement(userId, EntitlementEnum.OWNER);
@@ -209,7 +240,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserByIdNotFoundException(userId));
 
         if (entitlementsOwnerThisUser.isEmpty()) {
-            userRepository.deleteById(userId);
+            removeUser(userId);
             return;
         }
 
@@ -227,6 +258,7 @@ public class UserServiceImpl implements UserService {
                 if (entitlementAdminBoard.getEntitlement().equals(EntitlementEnum.ADMIN)) {
                     entitlementAdminBoard.setEntitlement(EntitlementEnum.OWNER);
                     entitlementRepository.save(entitlementAdminBoard);
+                    entitlementResolver.entitlementChanged(board.getId(), entitlementAdminBoard.getUser().getId(), EntitlementEnum.OWNER);
                     continue nextEntitlement;
                 }
             }
@@ -235,6 +267,7 @@ public class UserServiceImpl implements UserService {
                 if (entitlementEditorBoard.getEntitlement().equals(EntitlementEnum.EDITOR)) {
                     entitlementEditorBoard.setEntitlement(EntitlementEnum.OWNER);
                     entitlementRepository.save(entitlementEditorBoard);
+                    entitlementResolver.entitlementChanged(board.getId(), entitlementEditorBoard.getUser().getId(), EntitlementEnum.OWNER);
                     continue nextEntitlement;
                 }
             }
@@ -243,15 +276,29 @@ public class UserServiceImpl implements UserService {
                 if (entitlementUserBoard.getEntitlement().equals(EntitlementEnum.USER)) {
                     entitlementUserBoard.setEntitlement(EntitlementEnum.OWNER);
                     entitlementRepository.save(entitlementUserBoard);
+                    entitlementResolver.entitlementChanged(board.getId(), entitlementUserBoard.getUser().getId(), EntitlementEnum.OWNER);
                     continue nextEntitlement;
                 }
             }
 
             boardService.deleteBoardById(userId, entitlementThisUser.getBoard().getId());
         }
+        removeUser(userId);
+    }
+
+    /**
+     * Удаляет пользователя вместе с его правами, приглашениями, комментариями и участием в досках и эпиках.
+     * Связанные строки удаляются групповыми запросами до удаления пользователя, так как внешние ключи на него не каскадные.
+     */
+    private void removeUser(UUID userId) {
         entitlementRepository.deleteAllByUserId(userId);
+        inviteRepository.deleteAllByUserId(userId);
         commentRepository.deleteAllByAuthorId(userId);
+        userRepository.removeFromAllBoards(userId);
+        userRepository.removeFromAllEpics(userId);
         userRepository.deleteById(userId);
+        userSessionCache.invalidate(userId);
+        entitlementResolver.userDeleted(userId);
     }
 }
 
@@ -0,0 +1,102 @@
+CREATE TABLE Boards (
+    id BINARY(16) NOT NULL,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    CONSTRAINT pk_board PRIMARY KEY (id)
+);
+
+CREATE TABLE Users (
+    id BINARY(16) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    logon BOOLEAN NOT NULL,
+    CONSTRAINT pk_user PRIMARY KEY (id)
+);
+
+CREATE TABLE Invitations (
+    id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    board_id BINARY(16) NOT NULL,
+    confirmed BOOLEAN NOT NULL,
+    CONSTRAINT pk_invitation PRIMARY KEY (id),
+    FOREIGN KEY (user_id) REFERENCES Users(id),
+    FOREIGN KEY (board_id) REFERENCES Boards(id) ON DELETE CASCADE
+);
+
+CREATE TABLE Entitlements (
+    id BINARY(16) NOT NULL,
+    board_id BINARY(16) NOT NULL,
+    entitlement VARCHAR(255) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    CONSTRAINT pk_entitlement PRIMARY KEY (id),
+    FOREIGN KEY (board_id) REFERENCES Boards(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES Users(id)
+);
+
+CREATE TABLE Epics (
+    id BINARY(16) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    status VARCHAR(255) NOT NULL,
+    total_tasks INT NOT NULL DEFAULT 0,
+    completed_tasks INT NOT NULL DEFAULT 0,
+    created_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    board_id BINARY(16) NOT NULL,
+    CONSTRAINT pk_epic PRIMARY KEY (id),
+    FOREIGN KEY (board_id) REFERENCES Boards(id) ON DELETE CASCADE
+);
+
+CREATE TABLE Tasks (
+    id BINARY(16) NOT NULL,
+    description TEXT NOT NULL,
+    is_completed BOOLEAN NOT NULL,
+    epic_id BINARY(16) NOT NULL,
+    CONSTRAINT pk_task PRIMARY KEY (id),
+    FOREIGN KEY (epic_id) REFERENCES Epics(id) ON DELETE CASCADE
+);
+
+CREATE TABLE Comments (
+    id BINARY(16) NOT NULL,
+    text VARCHAR(1000),
+    created_time TIMESTAMP NOT NULL,
+    epic_id BINARY(16) NOT NULL,
+    author_id BINARY(16) NOT NULL,
+    CONSTRAINT pk_comment PRIMARY KEY (id),
+    FOREIGN KEY (author_id) REFERENCES Users(id),
+    FOREIGN KEY (epic_id) REFERENCES Epics(id) ON DELETE CASCADE
+);
+
+CREATE TABLE Boards_Users (
+    board_id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    CONSTRAINT pk_board_task PRIMARY KEY (board_id, user_id),
+    FOREIGN KEY (board_id) REFERENCES Boards(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES Users(id)
+);
+
+CREATE TABLE Epics_Users (
+    epic_id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    CONSTRAINT pk_epic_user PRIMARY KEY (epic_id, user_id),
+    FOREIGN KEY (epic_id) REFERENCES Epics(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES Users(id)
+);
+
+CREATE UNIQUE INDEX uq_entitlement_user_board ON Entitlements (user_id, board_id);
+CREATE INDEX idx_entitlement_board ON Entitlements (board_id);
+
+CREATE UNIQUE INDEX uq_invitation_user_board ON Invitations (user_id, board_id);
+CREATE INDEX idx_invitation_user_confirmed ON Invitations (user_id, confirmed);
+CREATE INDEX idx_invitation_board ON Invitations (board_id);
+
+CREATE INDEX idx_epic_board_id ON Epics (board_id, id);
+
+CREATE INDEX idx_task_epic_id ON Tasks (epic_id, id);
+
+CREATE INDEX idx_comment_epic_created_time_id ON Comments (epic_id, created_time, id);
+CREATE INDEX idx_comment_author ON Comments (author_id);
+
+CREATE INDEX idx_board_user_user ON Boards_Users (user_id);
+CREATE INDEX idx_epic_user_user ON Epics_Users (user_id);
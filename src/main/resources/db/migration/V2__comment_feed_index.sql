@@ -0,0 +1,2 @@
+DROP INDEX idx_comment_epic_created_time_id;
+CREATE INDEX idx_comment_epic_created_time_id ON Comments (epic_id, created_time DESC, id DESC);
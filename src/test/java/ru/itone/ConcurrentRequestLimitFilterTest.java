@@ -0,0 +1,68 @@
+package ru.itone;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.itone.filter.ConcurrentRequestLimitFilter;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверяет, что запросы сверх ограничения получают ответ 503, а запросы к /actuator не ограничиваются.
+ * Второй запрос выполняется внутри первого, пока тот удерживает единственное разрешение.
+ * Асинхронный запрос удерживает разрешение до завершения асинхронной обработки.
+ */
+public class ConcurrentRequestLimitFilterTest {
+    private final ConcurrentRequestLimitFilter filter = new ConcurrentRequestLimitFilter(1, Duration.ofMillis(10));
+
+    @Test
+    public void checkThatARequestOverTheLimitIsRejectedAndThePermitIsReleasedAfterwards() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        filter.doFilter(request("/board"), new MockHttpServletResponse(), (request, response) ->
+                filter.doFilter(request("/board"), nested, new MockFilterChain()));
+
+        assertEquals(503, nested.getStatus());
+        assertEquals(200, perform("/board").getStatus());
+    }
+
+    @Test
+    public void checkThatAnAsyncRequestHoldsThePermitUntilItIsCompleted() throws Exception {
+        MockHttpServletRequest async = request("/board");
+        async.setAsyncSupported(true);
+
+        filter.doFilter(async, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertEquals(503, perform("/board").getStatus());
+
+        ((MockAsyncContext) async.getAsyncContext()).complete();
+
+        assertEquals(200, perform("/board").getStatus());
+    }
+
+    @Test
+    public void checkThatActuatorRequestsAreNotLimited() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        filter.doFilter(request("/board"), new MockHttpServletResponse(), (request, response) ->
+                filter.doFilter(request("/actuator/prometheus"), nested, new MockFilterChain()));
+
+        assertEquals(200, nested.getStatus());
+    }
+
+    private MockHttpServletResponse perform(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
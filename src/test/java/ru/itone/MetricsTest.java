@@ -0,0 +1,63 @@
+package ru.itone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.model.user.dto.RegisterFormDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет, что время обработки запросов контроллерами и время выполнения методов сервисов
+ * публикуются в формате Prometheus вместе с гистограммами для вычисления перцентилей.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+public class MetricsTest {
+    private final MockMvc mvc;
+    private final ObjectMapper mapper;
+
+    @Test
+    public void checkThatControllerAndServiceTimersArePublishedOnThePrometheusEndpoint() throws Exception {
+        RegisterFormDto registerFormDto = new RegisterFormDto(
+                "Имя",
+                "Фамилия",
+                "metrics@example.com",
+                "password"
+        );
+
+        mvc.perform(post("/user/register")
+                        .content(mapper.writeValueAsString(registerFormDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{application=\"task-tracker\""),
+                        containsString("uri=\"/user/register\""),
+                        containsString("task_tracker_service_seconds_bucket{application=\"task-tracker\",class=\"ru.itone.service.user.UserServiceImpl\""),
+                        containsString("method=\"registerUser\"")
+                )));
+    }
+}
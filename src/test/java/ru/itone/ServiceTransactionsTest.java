@@ -0,0 +1,59 @@
+package ru.itone;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.service.board.BoardServiceImpl;
+import ru.itone.service.epic.EpicServiceImpl;
+import ru.itone.service.task.TaskServiceImpl;
+import ru.itone.service.user.UserServiceImpl;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет границы транзакций сервисов: по умолчанию методы выполняются в транзакции только для чтения,
+ * а все методы, изменяющие данные, явно объявляют транзакцию на запись.
+ * Пропущенная аннотация на изменяющем методе привела бы к тому, что Hibernate не сохранит изменения.
+ */
+public class ServiceTransactionsTest {
+    private static final List<Class<?>> SERVICES = List.of(
+            BoardServiceImpl.class,
+            EpicServiceImpl.class,
+            TaskServiceImpl.class,
+            UserServiceImpl.class
+    );
+
+    @Test
+    public void checkThatServicesAreReadOnlyByDefault() {
+        for (Class<?> service : SERVICES) {
+            Transactional transactional = service.getAnnotation(Transactional.class);
+
+            assertNotNull(transactional, service.getSimpleName() + " не объявляет границы транзакций");
+            assertTrue(transactional.readOnly(), service.getSimpleName() + " должен быть только для чтения по умолчанию");
+        }
+    }
+
+    @Test
+    public void checkThatEveryModifyingServiceMethodDeclaresAReadWriteTransaction() {
+        for (Class<?> service : SERVICES) {
+            for (Method method : service.getDeclaredMethods()) {
+                if (!Modifier.isPublic(method.getModifiers()) || isQuery(method)) {
+                    continue;
+                }
+
+                Transactional transactional = method.getAnnotation(Transactional.class);
+                String name = service.getSimpleName() + "." + method.getName();
+
+                assertNotNull(transactional, name + " изменяет данные, но не объявляет транзакцию на запись");
+                assertFalse(transactional.readOnly(), name + " изменяет данные в транзакции только для чтения");
+            }
+        }
+    }
+
+    private boolean isQuery(Method method) {
+        return method.getName().startsWith("find") || method.getName().startsWith("stream");
+    }
+}
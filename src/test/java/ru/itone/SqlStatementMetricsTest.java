@@ -0,0 +1,200 @@
+package ru.itone;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+import ru.itone.cache.UserSessionCache;
+import ru.itone.config.SqlMetricsConfig;
+import ru.itone.config.SqlMetricsProperties;
+import ru.itone.filter.SqlStatementMetricsFilter;
+import ru.itone.model.board.Board;
+import ru.itone.model.board.dto.BoardDto;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.comment.Comment;
+import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.task.Task;
+import ru.itone.model.task.dto.TaskDto;
+import ru.itone.model.user.Entitlement;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.User;
+import ru.itone.model.user.dto.RegisterFormDto;
+import ru.itone.repository.*;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет подсчёт SQL-запросов на HTTP-запрос.
+ * Каждый запрос ниже также проверяет бюджет task-tracker.sql.query-budget своего метода контроллера:
+ * фильтр только записывает превышение в журнал, а тест завершается ошибкой.
+ * Перед запросом сбрасывается кэш сессий, чтобы бюджет учитывал проверку входа пользователя в базе данных.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SqlStatementMetricsTest {
+    private static final String BOARD_BUDGET = "BoardController.findBoardById";
+
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+    private final SqlMetricsProperties properties;
+    private final UserRepository userRepository;
+    private final BoardRepository boardRepository;
+    private final EntitlementRepository entitlementRepository;
+    private final EpicRepository epicRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final UserSessionCache userSessionCache;
+    private final EntityManager entityManager;
+
+    private List<User> users;
+    private Board board;
+    private Epic epic;
+
+    @BeforeEach
+    public void setUp() {
+        users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(userRepository.save(new User(new RegisterFormDto(
+                    "Имя",
+                    "Фамилия",
+                    "sql" + i + "@example.com",
+                    "12345"
+            ))));
+        }
+
+        Board newBoard = new Board(new BoardDto("Доска"));
+        users.forEach(newBoard::addUser);
+        board = boardRepository.save(newBoard);
+        entitlementRepository.save(new Entitlement(board, users.get(0), EntitlementEnum.OWNER));
+
+        for (int i = 0; i < 5; i++) {
+            Epic newEpic = new Epic(new EpicDto("Эпик", "Описание", LocalDateTime.now().plusDays(1)), board);
+            users.forEach(newEpic::addUser);
+            epic = epicRepository.save(newEpic);
+
+            for (User user : users) {
+                taskRepository.save(new Task(new TaskDto("Задача"), epic));
+                commentRepository.save(new Comment(new CommentDto("Текст"), user, epic));
+            }
+        }
+    }
+
+    @Test
+    public void checkThatReadsStayWithinTheirQueryBudgetsAndArePublishedPerUri() throws Exception {
+        long boardStatements = perform(owner(), get("/board/{boardId}", board.getId()));
+        long epicStatements = perform(owner(), get("/epic/{epicId}", epic.getId()));
+        long commentStatements = perform(owner(), get("/epic/{epicId}/comments", epic.getId()));
+        long taskStatements = perform(owner(), get("/task/all/{epicId}", epic.getId()));
+
+        assertTrue(epicStatements > 0);
+        assertTrue(commentStatements > 0);
+        assertTrue(taskStatements > 0);
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsFilter.STATEMENTS)
+                .tags("method", "GET", "uri", "/board/{boardId}", "status", "200")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.max() >= boardStatements);
+        assertNotNull(meterRegistry.find(SqlStatementMetricsFilter.TIME).tag("uri", "/board/{boardId}").timer());
+    }
+
+    @Test
+    public void checkThatDeletesStayWithinTheirQueryBudgets() throws Exception {
+        long boardStatements = perform(owner(), delete("/board/{boardId}", board.getId()));
+        long userStatements = perform(users.get(1).getId(), delete("/user"));
+
+        assertTrue(boardStatements > 0);
+        assertTrue(userStatements > 0);
+        assertTrue(boardRepository.findById(board.getId()).isEmpty());
+        assertTrue(userRepository.findById(users.get(1).getId()).isEmpty());
+    }
+
+    @Test
+    public void checkThatExceedingTheQueryBudgetFailsTheCheckButNotTheRequest() {
+        Long budget = properties.getQueryBudget().put(BOARD_BUDGET, 0L);
+
+        try {
+            AssertionError e = assertThrows(
+                    AssertionError.class,
+                    () -> perform(owner(), get("/board/{boardId}", board.getId()))
+            );
+            assertTrue(e.getMessage().startsWith(BOARD_BUDGET));
+        } finally {
+            properties.getQueryBudget().put(BOARD_BUDGET, budget);
+        }
+    }
+
+    @Test
+    public void checkThatStreamedResponsesAreNotPublished() throws Exception {
+        long recorded = recordedRequests("/board/{boardId}");
+
+        mvc.perform(get("/board/{boardId}", board.getId()).param("stream", "true").header("X-User-Id", owner()))
+                .andExpect(request().asyncStarted());
+
+        assertEquals(recorded, recordedRequests("/board/{boardId}"));
+    }
+
+    private UUID owner() {
+        return users.get(0).getId();
+    }
+
+    private long perform(UUID userId, MockHttpServletRequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        userSessionCache.invalidate(userId);
+
+        mvc.perform(request.header("X-User-Id", userId))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(withinQueryBudget());
+
+        return statements();
+    }
+
+    private ResultMatcher withinQueryBudget() {
+        return result -> {
+            String handler = SqlStatementMetricsFilter.handlerName((HandlerMethod) result.getHandler());
+            Long budget = properties.getQueryBudget().get(handler);
+            long statements = statements();
+
+            assertNotNull(budget, "Не задан бюджет SQL-запросов: " + handler);
+            assertTrue(statements <= budget, handler + " выполнил SQL-запросов: " + statements + ", допустимо: " + budget);
+        };
+    }
+
+    private long statements() {
+        return QueryCountHolder.get(SqlMetricsConfig.DATA_SOURCE_NAME).getTotal();
+    }
+
+    private long recordedRequests(String uri) {
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsFilter.STATEMENTS)
+                .tags("method", "GET", "uri", uri, "status", "200")
+                .summary();
+
+        return summary == null ? 0 : summary.count();
+    }
+}
@@ -0,0 +1,110 @@
+package ru.itone;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import ru.itone.model.board.Board;
+import ru.itone.model.board.dto.BoardDto;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.comment.Comment;
+import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.task.Task;
+import ru.itone.model.task.dto.TaskDto;
+import ru.itone.model.user.User;
+import ru.itone.model.user.dto.RegisterFormDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Общая основа тестов количества SQL-запросов: измеряет запросы и загрузки сущностей по статистике Hibernate
+ * и создаёт доски и эпики заданного размера.
+ * Используется внутри транзакции теста.
+ */
+public class StatementCountFixture {
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    public StatementCountFixture(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Выполняет действие с пустым контекстом персистентности.
+     *
+     * @return Количество подготовленных SQL-запросов, включая запросы при сбросе изменений после действия.
+     */
+    public long countStatements(Runnable action) {
+        measure(action);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Выполняет действие с пустым контекстом персистентности.
+     *
+     * @return Количество сущностей, загруженных из базы данных.
+     */
+    public long countLoadedEntities(Runnable action) {
+        measure(action);
+
+        return statistics.getEntityLoadCount();
+    }
+
+    /**
+     * @return Количество сущностей класса, загруженных из базы данных во время последнего измерения.
+     */
+    public long loadedRows(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    public User createUser(String email) {
+        User user = new User(new RegisterFormDto(
+                "Имя",
+                "Фамилия",
+                email,
+                "12345"
+        ));
+        entityManager.persist(user);
+
+        return user;
+    }
+
+    public Board createBoard(String name, Collection<User> users) {
+        Board board = new Board(new BoardDto(name));
+        users.forEach(board::addUser);
+        entityManager.persist(board);
+
+        return board;
+    }
+
+    /**
+     * Создаёт эпик, в котором для каждого автора заданное количество раз создаются задача и комментарий.
+     */
+    public Epic createEpic(Board board, int size, Collection<User> authors) {
+        Epic epic = new Epic(new EpicDto("Эпик", "Описание", LocalDateTime.now().plusDays(1)), board);
+        entityManager.persist(epic);
+
+        for (int i = 0; i < size; i++) {
+            for (User author : authors) {
+                entityManager.persist(new Task(new TaskDto("Задача"), epic));
+                entityManager.persist(new Comment(new CommentDto("Текст"), author, epic));
+            }
+        }
+
+        return epic;
+    }
+
+    private void measure(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        action.run();
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.itone;
+
+import org.junit.jupiter.api.Test;
+import ru.itone.config.VirtualThreads;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void checkThatTasksRunOnNamedVirtualThreadsOrCreationFailsBeforeJava21() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-"));
+            return;
+        }
+
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            String name = executor.submit(() -> Thread.currentThread().getName()).get();
+
+            assertEquals("test-0", name);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -6,15 +6,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.itone.controller.BoardController;
+import ru.itone.exception.board.BoardByIdNotFoundException;
 import ru.itone.filter.HttpLogonCheck;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.service.board.BoardService;
 
+import javax.validation.ValidationException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +26,8 @@ import java.util.UUID;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -57,17 +62,63 @@ public class BoardControllerTest {
     public void checkThatTheRequestFindBoardsIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
                 .thenReturn(true);
-        when(service.findBoards(PageRequest.of(0, 10)))
-                .thenReturn(List.of(dto));
+        when(service.findBoards("cursor", 10))
+                .thenReturn(new CursorPage<>(List.of(dto), "next"));
 
         mvc.perform(get("/board")
                         .header("X-User-Id", UUID.randomUUID())
-                        .param("page", String.valueOf(0))
+                        .param("cursor", "cursor")
                         .param("size", String.valueOf(10)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
                 .andExpect(jsonPath("$[0].id", is(dto.getId().toString()), String.class));
     }
 
+    @Test
+    public void checkThatTheRequestFindBoardsReturnsBadRequestWithAnInvalidCursor() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        when(service.findBoards("invalid", 10))
+                .thenThrow(new ValidationException("Некорректный курсор страницы: invalid"));
+
+        mvc.perform(get("/board")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("cursor", "invalid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void checkThatTheRequestFindBoardsReturnsBadRequestWithASizeAboveTheLimit() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+
+        mvc.perform(get("/board")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void checkThatTheRequestStreamBoardByIdIsSuccessfulWithTheCorrectParameters() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        when(service.streamBoardById(dto.getId()))
+                .thenReturn(outputStream -> mapper.writeValue(outputStream, dto));
+
+        MvcResult result = mvc.perform(get("/board/" + dto.getId())
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id", is(dto.getId().toString()), String.class));
+    }
+
     @Test
     public void checkThatTheRequestFindBoardByIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
@@ -158,4 +209,17 @@ public class BoardControllerTest {
                         .header("X-User-Id", UUID.randomUUID()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    public void checkThatTheRequestDeleteBoardByIdReturnsNotFoundIfTheBoardIsAlreadyDeleted() throws Exception {
+        UUID boardId = UUID.randomUUID();
+
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        doThrow(new BoardByIdNotFoundException(boardId)).when(service).deleteBoardById(any(), any());
+
+        mvc.perform(delete("/board/" + boardId)
+                        .header("X-User-Id", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
 }
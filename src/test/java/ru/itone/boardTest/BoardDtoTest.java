@@ -60,6 +60,7 @@ public class BoardDtoTest {
                 createdEpicTime,
                 endEpicTime,
                 List.of(taskResponseDto),
+                1L,
                 List.of(commentResponseDto),
                 List.of(userFullNameAndEmailDto)
         );
@@ -1,5 +1,7 @@
 package ru.itone.boardTest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,8 +23,12 @@ import ru.itone.model.user.dto.RegisterFormDto;
 import ru.itone.repository.*;
 import ru.itone.service.board.BoardService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +44,7 @@ public class BoardIntegrationServiceTest {
     private final BoardRepository boardRepository;
     private final EpicRepository epicRepository;
     private final InviteRepository inviteRepository;
+    private final ObjectMapper objectMapper;
 
     private UUID ownerId;
 
@@ -183,4 +190,31 @@ public class BoardIntegrationServiceTest {
         List<Epic> epics = epicRepository.findAll();
         assertTrue(epics.isEmpty());
     }
+
+    @Test
+    public void checkThatTheStreamedBoardContainsAllEpicsAndUsers() throws IOException {
+        UUID boardId = service.createBoard(ownerId, new BoardDto("Имя Доски")).getId();
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow();
+
+        Set<UUID> epicIds = new HashSet<>();
+        for (int i = 0; i < 51; i++) {
+            Epic epic = new Epic(new EpicDto("Эпик", "Описание", LocalDateTime.now().plusDays(1)), board);
+            epicIds.add(epicRepository.save(epic).getId());
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.streamBoardById(boardId).writeTo(outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+
+        assertEquals(boardId.toString(), result.get("id").asText());
+        assertEquals("Имя Доски", result.get("name").asText());
+        assertEquals(ownerId.toString(), result.get("users").get(0).get("id").asText());
+
+        Set<UUID> streamedEpicIds = new HashSet<>();
+        result.get("epics").forEach(epic -> streamedEpicIds.add(UUID.fromString(epic.get("id").asText())));
+
+        assertEquals(epicIds, streamedEpicIds);
+    }
 }
@@ -0,0 +1,189 @@
+package ru.itone.boardTest;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.itone.StatementCountFixture;
+import ru.itone.model.board.Board;
+import ru.itone.model.board.invite.Invite;
+import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.task.Task;
+import ru.itone.model.user.Entitlement;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.User;
+import ru.itone.repository.*;
+import ru.itone.service.board.BoardService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет, что количество SQL-запросов при чтении и удалении досок не зависит от количества эпиков, задач,
+ * комментариев и участников.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+public class BoardQueryCountTest {
+    /**
+     * Авторы комментариев загружаются лениво одним пакетным запросом, если их нет в кэше второго уровня.
+     */
+    private static final long MAX_QUERIES_PER_READ = 7;
+    private static final long MAX_STATEMENTS_PER_DELETE = 3;
+    /**
+     * Эпики потокового ответа загружаются порциями по 50, поэтому доска занимает три порции.
+     */
+    private static final int STREAMED_EPICS = 120;
+
+    private final BoardService service;
+    private final BoardRepository boardRepository;
+    private final EntitlementRepository entitlementRepository;
+    private final InviteRepository inviteRepository;
+    private final EpicRepository epicRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private StatementCountFixture fixture;
+    private List<User> users;
+
+    @BeforeEach
+    public void setUp() {
+        fixture = new StatementCountFixture(entityManager, entityManagerFactory);
+
+        users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(fixture.createUser("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    public void checkThatFindBoardByIdUsesTheSameNumberOfQueriesForAnyBoardSize() {
+        Board board = createBoard("Доска");
+        addEpics(board, 1);
+
+        long smallBoardQueries = fixture.countStatements(() -> service.findBoardById(board.getId()));
+
+        addEpics(board, 5);
+
+        BoardResponseDto[] result = new BoardResponseDto[1];
+        long largeBoardQueries = fixture.countStatements(() -> result[0] = service.findBoardById(board.getId()));
+
+        assertEquals(6, result[0].getEpics().size());
+        assertEquals(smallBoardQueries, largeBoardQueries);
+        assertTrue(largeBoardQueries <= MAX_QUERIES_PER_READ, "Выполнено запросов: " + largeBoardQueries);
+    }
+
+    @Test
+    public void checkThatFindBoardsUsesTheSameNumberOfQueriesForAnyNumberOfBoards() {
+        addEpics(createBoard("Первая"), 2);
+
+        long fewBoardsQueries = fixture.countStatements(() -> service.findBoards(null, 10));
+
+        for (int i = 0; i < 3; i++) {
+            addEpics(createBoard("Доска " + i), 3);
+        }
+
+        long manyBoardsQueries = fixture.countStatements(() -> service.findBoards(null, 10));
+
+        assertEquals(fewBoardsQueries, manyBoardsQueries);
+        assertTrue(manyBoardsQueries <= MAX_QUERIES_PER_READ, "Выполнено запросов: " + manyBoardsQueries);
+    }
+
+    @Test
+    public void checkThatFindBoardsLoadsOnlyTheEpicsAndTasksOfTheRequestedPage() {
+        for (int i = 0; i < 30; i++) {
+            addEpics(createBoard("Доска " + i), 2);
+        }
+
+        long queries = fixture.countStatements(() -> service.findBoards(null, 3));
+
+        // Страница из трёх досок выбирается запросом size + 1 строк.
+        assertTrue(fixture.loadedRows(Epic.class) <= 4 * 2, "Загружено эпиков: " + fixture.loadedRows(Epic.class));
+        assertTrue(fixture.loadedRows(Task.class) <= 4 * 2 * users.size(), "Загружено задач: " + fixture.loadedRows(Task.class));
+        assertTrue(queries <= MAX_QUERIES_PER_READ, "Выполнено запросов: " + queries);
+    }
+
+    @Test
+    public void checkThatStreamBoardByIdLoadsTheTasksOfEachChunkOnlyOnce() {
+        Board board = createBoard("Большая");
+        addEpics(board, STREAMED_EPICS);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        fixture.countStatements(() -> write(service.streamBoardById(board.getId()), outputStream));
+
+        assertTrue(outputStream.size() > 0);
+        assertEquals(STREAMED_EPICS, fixture.loadedRows(Epic.class));
+        assertEquals(STREAMED_EPICS * users.size(), fixture.loadedRows(Task.class));
+    }
+
+    @Test
+    public void checkThatDeleteBoardByIdUsesTheSameNumberOfStatementsForAnyBoardSizeAndRemovesAllRelatedRows() {
+        User owner = users.get(0);
+
+        Board smallBoard = createBoard("Маленькая");
+        addEpics(smallBoard, 1);
+        entitlementRepository.save(new Entitlement(smallBoard, owner, EntitlementEnum.OWNER));
+
+        Board largeBoard = createBoard("Большая");
+        addEpics(largeBoard, 10);
+        entitlementRepository.save(new Entitlement(largeBoard, owner, EntitlementEnum.OWNER));
+        inviteRepository.save(new Invite(users.get(1), largeBoard));
+
+        long smallBoardStatements = fixture.countStatements(() -> service.deleteBoardById(owner.getId(), smallBoard.getId()));
+        long largeBoardStatements = fixture.countStatements(() -> service.deleteBoardById(owner.getId(), largeBoard.getId()));
+
+        assertEquals(smallBoardStatements, largeBoardStatements);
+        assertTrue(largeBoardStatements <= MAX_STATEMENTS_PER_DELETE, "Выполнено запросов: " + largeBoardStatements);
+
+        assertEquals(0, boardRepository.count());
+        assertEquals(0, epicRepository.count());
+        assertEquals(0, taskRepository.count());
+        assertEquals(0, commentRepository.count());
+        assertEquals(0, entitlementRepository.count());
+        assertEquals(0, inviteRepository.count());
+        assertEquals(0, countRows("Boards_Users"));
+        assertEquals(0, countRows("Epics_Users"));
+    }
+
+    private long countRows(String table) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table)
+                .getSingleResult()).longValue();
+    }
+
+    private void write(StreamingResponseBody body, OutputStream outputStream) {
+        try {
+            body.writeTo(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Board createBoard(String name) {
+        return fixture.createBoard(name, users);
+    }
+
+    private void addEpics(Board board, int count) {
+        for (int i = 0; i < count; i++) {
+            Epic epic = fixture.createEpic(board, 1, users);
+            users.forEach(epic::addUser);
+        }
+    }
+}
@@ -1,30 +1,43 @@
 package ru.itone.boardTest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.exception.board.BoardByIdNotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import ru.itone.model.board.Board;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.board.dto.BoardResponseDto;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.board.invite.Invite;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
 import ru.itone.model.user.dto.RegisterFormDto;
 import ru.itone.repository.*;
 import ru.itone.service.board.BoardServiceImpl;
+import ru.itone.service.epic.EpicActivityLoader;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -46,25 +59,38 @@ public class BoardServiceTest {
     private EpicRepository epicRepository;
 
     @Mock
-    private TaskRepository taskRepository;
+    private EpicActivityLoader epicActivityLoader;
+
 
     @Mock
     private InviteRepository inviteRepository;
 
+    @Mock
+    private EntitlementResolver entitlementResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @Test
     public void checkThatTheServiceMethodFindBoardsReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
         Board board = new Board();
         UUID boardId = UUID.randomUUID();
         board.setId(boardId);
 
-        Pageable pageable = PageRequest.of(0, 10);
+        Board nextBoard = new Board();
+        nextBoard.setId(UUID.randomUUID());
 
-        when(boardRepository.findAll(pageable))
-                .thenReturn(new PageImpl<>(List.of(board)));
+        when(boardRepository.findByIdGreaterThanOrderById(Cursor.FIRST_ID, PageRequest.of(0, 2)))
+                .thenReturn(List.of(board, nextBoard));
 
-        List<BoardResponseDto> result = service.findBoards(pageable);
+        CursorPage<BoardResponseDto> result = service.findBoards(null, 1);
 
-        assertEquals(boardId, result.get(0).getId());
+        assertEquals(1, result.getItems().size());
+        assertEquals(boardId, result.getItems().get(0).getId());
+        assertEquals(boardId, Cursor.decodeId(result.getNextCursor()));
     }
 
     @Test
@@ -120,6 +146,7 @@ public class BoardServiceTest {
 
         assertEquals(boardId, result.getId());
         assertEquals(userId, result.getUsers().get(0).getId());
+        verify(entitlementResolver, atLeastOnce()).boardCreated(boardId, userId);
     }
 
     @Test
@@ -152,8 +179,8 @@ public class BoardServiceTest {
         UUID inviteId = UUID.randomUUID();
         invite.setId(inviteId);
 
-        when(entitlementRepository.findByUserIdAndBoardId(ownerId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(ownerId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(boardRepository.findById(boardId))
                 .thenReturn(Optional.of(board));
         when(userRepository.findById(userId))
@@ -163,12 +190,28 @@ public class BoardServiceTest {
 
         service.inviteUser(ownerId, boardId, userId);
 
-        verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(ownerId, boardId);
+        verify(entitlementResolver, atLeastOnce()).getEntitlement(ownerId, boardId);
         verify(boardRepository, atLeastOnce()).findById(boardId);
         verify(userRepository, atLeastOnce()).findById(userId);
         verify(inviteRepository, atLeastOnce()).save(any(Invite.class));
     }
 
+    @Test
+    public void checkThatTheServiceMethodInviteUserDoesNotCreateASecondInviteForTheSameUserAndBoard() {
+        UUID ownerId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID boardId = UUID.randomUUID();
+
+        when(entitlementResolver.getEntitlement(ownerId, boardId))
+                .thenReturn(EntitlementEnum.OWNER);
+        when(inviteRepository.findByUserIdAndBoardId(userId, boardId))
+                .thenReturn(Optional.of(new Invite()));
+
+        service.inviteUser(ownerId, boardId, userId);
+
+        verify(inviteRepository, never()).save(any(Invite.class));
+    }
+
     @Test
     public void checkThatTheServiceMethodIssueEntitlementCallsAllTheNecessaryRepositoryMethodsAtLeastOnceWithCorrectlyPassedParameters() {
         User owner = new User(
@@ -211,8 +254,8 @@ public class BoardServiceTest {
 
         user.addEntitlement(entitlement);
 
-        when(entitlementRepository.findByUserIdAndBoardId(ownerId, boardId))
-                .thenReturn(Optional.of(entitlementOwner));
+        when(entitlementResolver.getEntitlement(ownerId, boardId))
+                .thenReturn(entitlementOwner.getEntitlement());
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
         when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
@@ -222,7 +265,7 @@ public class BoardServiceTest {
 
         service.issueEntitlement(ownerId, boardId, userId, EntitlementEnum.EDITOR);
 
-        verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(ownerId, boardId);
+        verify(entitlementResolver, atLeastOnce()).getEntitlement(ownerId, boardId);
         verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(userId, boardId);
         verify(userRepository, atLeastOnce()).findById(userId);
         verify(entitlementRepository, atLeastOnce()).save(any(Entitlement.class));
@@ -258,8 +301,8 @@ public class BoardServiceTest {
 
         user.addEntitlement(entitlement);
 
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(boardRepository.findById(boardId))
                 .thenReturn(Optional.of(board));
         when(boardRepository.save(any(Board.class)))
@@ -294,22 +337,77 @@ public class BoardServiceTest {
 
         user.addEntitlement(entitlement);
 
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
+        when(boardRepository.removeById(boardId))
+                .thenReturn(1);
+
+        service.deleteBoardById(userId, boardId);
+
+        verify(boardRepository, atLeastOnce()).removeById(boardId);
+        verify(entitlementResolver, atLeastOnce()).boardDeleted(boardId);
+    }
+
+    @Test
+    public void checkThatTheServiceMethodDeleteBoardByIdThrowsAnExceptionIfTheBoardIsNotFound() {
+        UUID userId = UUID.randomUUID();
+        UUID boardId = UUID.randomUUID();
+
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(EntitlementEnum.OWNER);
+        when(boardRepository.removeById(boardId))
+                .thenReturn(0);
+
+        assertThrows(BoardByIdNotFoundException.class, () -> service.deleteBoardById(userId, boardId));
+    }
+
+    @Test
+    public void checkThatTheServiceMethodStreamBoardByIdWritesEachChunkOfEpicsAfterItsTransactionIsCompleted() throws IOException {
+        Board board = new Board(new BoardDto("Имя"));
+        UUID boardId = UUID.randomUUID();
+        board.setId(boardId);
+
+        List<Epic> firstChunk = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            firstChunk.add(epic(board));
+        }
+
+        AtomicInteger openTransactions = new AtomicInteger();
+
+        when(boardRepository.existsById(boardId))
+                .thenReturn(true);
         when(boardRepository.findById(boardId))
                 .thenReturn(Optional.of(board));
-        when(inviteRepository.findAllByBoardId(boardId))
-                .thenReturn(new ArrayList<>());
-        doNothing().when(inviteRepository).deleteAll(anyList());
-        doNothing().when(entitlementRepository).deleteAllByBoardId(boardId);
-        doNothing().when(epicRepository).deleteAll(anySet());
-        doNothing().when(boardRepository).deleteById(boardId);
+        when(epicRepository.findByBoardIdAndIdGreaterThanOrderById(eq(boardId), any(), any()))
+                .thenReturn(firstChunk)
+                .thenReturn(List.of(epic(board)));
+        when(transactionManager.getTransaction(any()))
+                .thenAnswer(invocation -> {
+                    openTransactions.incrementAndGet();
+                    return new SimpleTransactionStatus();
+                });
+        doAnswer(invocation -> openTransactions.decrementAndGet())
+                .when(transactionManager).commit(any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] bytes, int offset, int length) {
+                assertEquals(0, openTransactions.get());
+                super.write(bytes, offset, length);
+            }
+        };
+
+        service.streamBoardById(boardId).writeTo(outputStream);
+
+        assertTrue(outputStream.size() > 0);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
 
-        service.deleteBoardById(userId, boardId);
+    private Epic epic(Board board) {
+        Epic epic = new Epic(new EpicDto("Эпик", "Описание", LocalDateTime.now().plusDays(1)), board);
+        epic.setId(UUID.randomUUID());
 
-        verify(inviteRepository, atLeastOnce()).deleteAll(anyList());
-        verify(entitlementRepository, atLeastOnce()).deleteAllByBoardId(boardId);
-        verify(epicRepository, atLeastOnce()).deleteAll(anySet());
-        verify(boardRepository, atLeastOnce()).deleteById(boardId);
+        return epic;
     }
 }
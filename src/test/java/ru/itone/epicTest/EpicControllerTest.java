@@ -8,12 +8,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.itone.controller.EpicController;
 import ru.itone.filter.HttpLogonCheck;
 import ru.itone.model.epic.comment.dto.CommentDto;
 import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.epic.dto.EpicSummaryDto;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.user.dto.UserFullNameAndEmailDto;
 import ru.itone.service.epic.EpicService;
 
@@ -24,8 +27,9 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -58,6 +62,7 @@ public class EpicControllerTest {
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now().plusDays(1),
                 new ArrayList<>(),
+                0L,
                 new ArrayList<>(),
                 new ArrayList<>()
         );
@@ -77,15 +82,73 @@ public class EpicControllerTest {
     public void checkThatTheRequestFindEpicsByBoardIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
                 .thenReturn(true);
-        when(service.findEpicsByBoardId(any()))
-                .thenReturn(List.of(dto));
+        EpicSummaryDto summary = new EpicSummaryDto(
+                dto.getId(),
+                dto.getName(),
+                dto.getStatus(),
+                dto.getEndTime(),
+                2L,
+                1L,
+                0L
+        );
+        when(service.findEpicsByBoardId(any(), isNull(), eq(10)))
+                .thenReturn(new CursorPage<>(List.of(summary), null));
 
         mvc.perform(get("/epic/all/" + UUID.randomUUID())
                         .header("X-User-Id", UUID.randomUUID()))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(dto.getId().toString()), String.class))
+                .andExpect(jsonPath("$[0].taskCount", is(2)))
+                .andExpect(jsonPath("$[0].tasks").doesNotExist());
+    }
+
+    @Test
+    public void checkThatTheRequestStreamEpicsByBoardIdIsSuccessfulWithTheCorrectParameters() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        when(service.streamEpicsByBoardId(any()))
+                .thenReturn(outputStream -> mapper.writeValue(outputStream, List.of(dto)));
+
+        MvcResult result = mvc.perform(get("/epic/all/" + UUID.randomUUID())
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(dto.getId().toString()), String.class));
     }
 
+    @Test
+    public void checkThatTheRequestFindCommentsByEpicIdIsSuccessfulWithTheCorrectParameters() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        when(service.findCommentsByEpicId(any(), eq("cursor"), eq(5)))
+                .thenReturn(new CursorPage<>(List.of(commentResponseDto), "next"));
+
+        mvc.perform(get("/epic/" + UUID.randomUUID() + "/comments")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("cursor", "cursor")
+                        .param("size", String.valueOf(5)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id", is(commentResponseDto.getId().toString()), String.class));
+    }
+
+    @Test
+    public void checkThatTheRequestFindCommentsByEpicIdReturnsBadRequestWithASizeAboveTheLimit() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+
+        mvc.perform(get("/epic/" + UUID.randomUUID() + "/comments")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("size", String.valueOf(CursorPage.MAX_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
     @Test
     public void checkThatTheRequestFindEpicByIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
@@ -0,0 +1,98 @@
+package ru.itone.epicTest;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.StatementCountFixture;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.model.board.Board;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.user.Entitlement;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.User;
+import ru.itone.repository.EntitlementRepository;
+import ru.itone.service.epic.EpicService;
+import ru.itone.service.user.UserService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет, что каскадное удаление эпиков и пользователей выполняется пакетами,
+ * и количество подготовленных SQL-запросов не зависит от количества задач и комментариев.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EpicDeleteStatementCountTest {
+    private static final long MAX_STATEMENTS_PER_EPIC_DELETE = 8;
+
+    private final EpicService epicService;
+    private final UserService userService;
+    private final EntitlementResolver entitlementResolver;
+    private final EntitlementRepository entitlementRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private StatementCountFixture fixture;
+    private User owner;
+    private Board board;
+
+    @BeforeEach
+    public void setUp() {
+        fixture = new StatementCountFixture(entityManager, entityManagerFactory);
+
+        owner = fixture.createUser("owner@example.com");
+        board = fixture.createBoard("Доска", List.of(owner));
+
+        entitlementRepository.save(new Entitlement(board, owner, EntitlementEnum.OWNER));
+
+        // Права доски загружаются в кэш заранее, чтобы первое измерение не включало их загрузку.
+        entityManager.flush();
+        entitlementResolver.getEntitlement(owner.getId(), board.getId());
+    }
+
+    @Test
+    public void checkThatDeleteEpicByIdUsesTheSameNumberOfStatementsForAnyEpicSize() {
+        Epic smallEpic = fixture.createEpic(board, 2, List.of(owner));
+        long smallEpicStatements = fixture.countStatements(() ->
+                epicService.deleteEpicById(owner.getId(), board.getId(), smallEpic.getId()));
+
+        Epic largeEpic = fixture.createEpic(board, 40, List.of(owner));
+        long largeEpicStatements = fixture.countStatements(() ->
+                epicService.deleteEpicById(owner.getId(), board.getId(), largeEpic.getId()));
+
+        assertEquals(smallEpicStatements, largeEpicStatements);
+        assertTrue(largeEpicStatements <= MAX_STATEMENTS_PER_EPIC_DELETE, "Выполнено запросов: " + largeEpicStatements);
+    }
+
+    @Test
+    public void checkThatDeleteUserByIdUsesTheSameNumberOfStatementsForAnyNumberOfComments() {
+        User smallAuthor = createAuthor("small@example.com");
+        fixture.createEpic(board, 2, List.of(smallAuthor));
+        long fewCommentsStatements = fixture.countStatements(() -> userService.deleteUserById(smallAuthor.getId()));
+
+        User largeAuthor = createAuthor("large@example.com");
+        fixture.createEpic(board, 40, List.of(largeAuthor));
+        long manyCommentsStatements = fixture.countStatements(() -> userService.deleteUserById(largeAuthor.getId()));
+
+        assertEquals(fewCommentsStatements, manyCommentsStatements);
+    }
+
+    private User createAuthor(String email) {
+        User author = fixture.createUser(email);
+
+        entitlementRepository.save(new Entitlement(board, author, EntitlementEnum.USER));
+
+        return author;
+    }
+}
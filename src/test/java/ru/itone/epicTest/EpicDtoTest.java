@@ -58,6 +58,7 @@ public class EpicDtoTest {
                 createdEpicTime,
                 endEpicTime,
                 List.of(taskResponseDto),
+                1L,
                 List.of(commentResponseDto),
                 List.of(userFullNameAndEmailDto)
         );
@@ -76,6 +77,7 @@ public class EpicDtoTest {
         assertThat(result).extractingJsonPathBooleanValue("$.tasks[0].isCompleted").isEqualTo(false);
 
         // CommentResponseDto
+        assertThat(result).extractingJsonPathNumberValue("$.commentCount").isEqualTo(1);
         assertThat(result).extractingJsonPathStringValue("$.activity[0].id").isEqualTo(commentId.toString());
         assertThat(result).extractingJsonPathStringValue("$.activity[0].text").isEqualTo("Текст");
         assertThat(result).extractingJsonPathStringValue("$.activity[0].createdTime").isNotNull();
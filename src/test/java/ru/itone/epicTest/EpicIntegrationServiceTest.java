@@ -1,5 +1,7 @@
 package ru.itone.epicTest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,16 +16,25 @@ import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.epic.Epic;
 import ru.itone.model.epic.EpicStatus;
 import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.epic.dto.EpicSummaryDto;
+import ru.itone.model.pagination.CursorPage;
+import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
 import ru.itone.model.user.dto.RegisterFormDto;
 import ru.itone.repository.*;
 import ru.itone.service.epic.EpicService;
+import ru.itone.service.task.TaskService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -36,11 +47,13 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 public class EpicIntegrationServiceTest {
     private final EpicService service;
+    private final TaskService taskService;
     private final UserRepository userRepository;
     private final EntitlementRepository entitlementRepository;
     private final BoardRepository boardRepository;
     private final EpicRepository epicRepository;
     private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
 
     private UUID ownerId;
     private UUID boardId;
@@ -169,4 +182,101 @@ public class EpicIntegrationServiceTest {
                     .orElseThrow(() -> new CommentByIdNotFoundException(commentId));
         });
     }
+
+    @Test
+    public void checkThatTheEpicSummariesOfTheBoardContainCorrectCounters() {
+        EpicDto epicDto = new EpicDto(
+                "Название",
+                "Описание",
+                LocalDateTime.now().plusDays(1)
+        );
+        UUID epicId = service.createEpic(ownerId, boardId, epicDto).getId();
+
+        service.createCommentByEpicId(ownerId, epicId, new CommentDto("Первый"));
+        service.createCommentByEpicId(ownerId, epicId, new CommentDto("Второй"));
+        service.takeEpic(ownerId, epicId);
+        taskService.createTaskById(ownerId, epicId, new TaskDto("Задача"));
+
+        List<EpicSummaryDto> result = service.findEpicsByBoardId(boardId, null, 10).getItems();
+
+        assertEquals(1, result.size());
+        assertEquals(epicId, result.get(0).getId());
+        assertEquals(epicDto.getName(), result.get(0).getName());
+        assertEquals(EpicStatus.TODO.toString(), result.get(0).getStatus());
+        assertEquals(1L, result.get(0).getTaskCount());
+        assertEquals(2L, result.get(0).getCommentCount());
+        assertEquals(1L, result.get(0).getAssigneeCount());
+    }
+
+    @Test
+    public void checkThatTheCommentsOfTheEpicAreReturnedPageByPageFromNewestToOldest() {
+        EpicDto epicDto = new EpicDto(
+                "Название",
+                "Описание",
+                LocalDateTime.now().plusDays(1)
+        );
+        UUID epicId = service.createEpic(ownerId, boardId, epicDto).getId();
+
+        UUID firstId = service.createCommentByEpicId(ownerId, epicId, new CommentDto("Первый")).getId();
+        UUID secondId = service.createCommentByEpicId(ownerId, epicId, new CommentDto("Второй")).getId();
+        UUID thirdId = service.createCommentByEpicId(ownerId, epicId, new CommentDto("Третий")).getId();
+
+        CursorPage<CommentResponseDto> firstPage = service.findCommentsByEpicId(epicId, null, 2);
+
+        assertEquals(List.of(thirdId, secondId), firstPage.getItems().stream()
+                .map(CommentResponseDto::getId)
+                .collect(Collectors.toList()));
+        assertNotNull(firstPage.getNextCursor());
+
+        CursorPage<CommentResponseDto> secondPage = service.findCommentsByEpicId(epicId, firstPage.getNextCursor(), 2);
+
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(firstId, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void checkThatTheEpicContainsTheCommentCountAndOnlyTheLatestComments() {
+        EpicDto epicDto = new EpicDto(
+                "Название",
+                "Описание",
+                LocalDateTime.now().plusDays(1)
+        );
+        UUID epicId = service.createEpic(ownerId, boardId, epicDto).getId();
+
+        List<UUID> commentIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            commentIds.add(service.createCommentByEpicId(ownerId, epicId, new CommentDto("Комментарий " + i)).getId());
+        }
+        Collections.reverse(commentIds);
+
+        EpicResponseDto result = service.findEpicById(epicId);
+
+        assertEquals(7L, result.getCommentCount());
+        assertEquals(commentIds.subList(0, 5), result.getActivity().stream()
+                .map(CommentResponseDto::getId)
+                .collect(Collectors.toList()));
+        assertNotNull(result.getActivity().get(0).getAuthor().getEmail());
+    }
+
+    @Test
+    public void checkThatTheStreamedEpicSummariesOfTheBoardMatchThePagedSummaries() throws IOException {
+        EpicDto epicDto = new EpicDto(
+                "Название",
+                "Описание",
+                LocalDateTime.now().plusDays(1)
+        );
+        UUID epicId = service.createEpic(ownerId, boardId, epicDto).getId();
+        service.createCommentByEpicId(ownerId, epicId, new CommentDto("Текст"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.streamEpicsByBoardId(boardId).writeTo(outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+
+        assertEquals(1, result.size());
+        assertEquals(epicId.toString(), result.get(0).get("id").asText());
+        assertEquals(epicDto.getName(), result.get(0).get("name").asText());
+        assertEquals(1, result.get(0).get("commentCount").asLong());
+    }
 }
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.itone.cache.EntitlementResolver;
 import ru.itone.model.board.Board;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.epic.Epic;
@@ -14,11 +16,15 @@ import ru.itone.model.epic.comment.dto.CommentDto;
 import ru.itone.model.epic.comment.dto.CommentResponseDto;
 import ru.itone.model.epic.dto.EpicDto;
 import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.epic.dto.EpicSummaryDto;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
 import ru.itone.model.user.dto.RegisterFormDto;
 import ru.itone.repository.*;
+import ru.itone.service.epic.EpicActivityLoader;
 import ru.itone.service.epic.EpicServiceImpl;
 
 import java.time.LocalDateTime;
@@ -27,6 +33,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -53,6 +60,12 @@ public class EpicServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private EpicActivityLoader epicActivityLoader;
+
+    @Mock
+    private EntitlementResolver entitlementResolver;
+
     private User user;
     private UUID userId;
 
@@ -121,12 +134,25 @@ public class EpicServiceTest {
 
     @Test
     public void checkThatTheServiceMethodFindEpicsByBoardIdReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
-        when(boardRepository.findById(boardId))
-                .thenReturn(Optional.of(board));
+        EpicSummaryDto summary = new EpicSummaryDto(
+                epicId,
+                epic.getName(),
+                epic.getStatus(),
+                epic.getEndTime(),
+                0,
+                1L,
+                0
+        );
+        when(boardRepository.existsById(boardId))
+                .thenReturn(true);
+        when(epicRepository.findSummariesByBoardId(boardId, Cursor.FIRST_ID, PageRequest.of(0, 11)))
+                .thenReturn(List.of(summary));
 
-        List<EpicResponseDto> result = service.findEpicsByBoardId(boardId);
+        CursorPage<EpicSummaryDto> result = service.findEpicsByBoardId(boardId, null, 10);
 
-        assertEquals(epicId, result.get(0).getId());
+        assertEquals(epicId, result.getItems().get(0).getId());
+        assertEquals(1L, result.getItems().get(0).getCommentCount());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -137,12 +163,13 @@ public class EpicServiceTest {
         EpicResponseDto result = service.findEpicById(epicId);
 
         assertEquals(epicId, result.getId());
+        verify(epicActivityLoader, atLeastOnce()).loadActivity(List.of(result));
     }
 
     @Test
     public void checkThatTheServiceMethodCreateEpicReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(boardRepository.findById(boardId))
                 .thenReturn(Optional.of(board));
         when(epicRepository.save(any(Epic.class)))
@@ -163,8 +190,6 @@ public class EpicServiceTest {
                 .thenReturn(Optional.of(epic));
         when(commentRepository.save(any(Comment.class)))
                 .thenReturn(comment);
-        when(epicRepository.save(any(Epic.class)))
-                .thenReturn(any(Epic.class));
 
         CommentResponseDto result = service.createCommentByEpicId(userId, epicId, commentDto);
 
@@ -173,10 +198,10 @@ public class EpicServiceTest {
 
     @Test
     public void checkThatTheServiceMethodUpdateEpicByIdReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
         when(epicRepository.findById(epicId))
                 .thenReturn(Optional.of(epic));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(epicRepository.save(any(Epic.class)))
                 .thenReturn(epic);
 
@@ -191,8 +216,8 @@ public class EpicServiceTest {
                 .thenReturn(Optional.of(epic));
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(epicRepository.save(any(Epic.class)))
                 .thenReturn(epic);
 
@@ -200,7 +225,7 @@ public class EpicServiceTest {
 
         verify(epicRepository, atLeastOnce()).findById(epicId);
         verify(userRepository, atLeastOnce()).findById(userId);
-        verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(userId, boardId);
+        verify(entitlementResolver, atLeastOnce()).getEntitlement(userId, boardId);
         verify(epicRepository, atLeastOnce()).save(any(Epic.class));
     }
 
@@ -234,8 +259,8 @@ public class EpicServiceTest {
 
     @Test
     public void checkThatTheServiceMethodDeleteEpicByIdCallsAllTheNecessaryRepositoryMethodsAtLeastOnceWithCorrectlyPassedParameters() {
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(boardRepository.findById(boardId))
                 .thenReturn(Optional.of(board));
         when(boardRepository.save(any(Board.class)))
@@ -245,7 +270,7 @@ public class EpicServiceTest {
 
         service.deleteEpicById(userId, boardId, epicId);
 
-        verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(userId, boardId);
+        verify(entitlementResolver, atLeastOnce()).getEntitlement(userId, boardId);
         verify(boardRepository, atLeastOnce()).findById(boardId);
         verify(boardRepository, atLeastOnce()).save(any(Board.class));
         verify(taskRepository, atLeastOnce()).deleteAll(epic.getTasks());
@@ -256,17 +281,17 @@ public class EpicServiceTest {
     public void checkThatTheServiceMethodDeleteCommentByIdCallsAllTheNecessaryRepositoryMethodsAtLeastOnceWithCorrectlyPassedParameters() {
         when(epicRepository.findById(epicId))
                 .thenReturn(Optional.of(epic));
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
-        when(epicRepository.save(any(Epic.class)))
-                .thenReturn(epic);
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
+        when(commentRepository.findById(commentId))
+                .thenReturn(Optional.of(comment));
         doNothing().when(commentRepository).deleteById(commentId);
 
         service.deleteCommentById(userId, epicId, commentId);
 
         verify(epicRepository, atLeastOnce()).findById(epicId);
-        verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(userId, boardId);
-        verify(epicRepository, atLeastOnce()).save(any(Epic.class));
+        verify(entitlementResolver, atLeastOnce()).getEntitlement(userId, boardId);
+        verify(commentRepository, atLeastOnce()).findById(commentId);
         verify(commentRepository, atLeastOnce()).deleteById(commentId);
     }
 }
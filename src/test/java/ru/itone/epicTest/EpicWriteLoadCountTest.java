@@ -0,0 +1,95 @@
+package ru.itone.epicTest;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.StatementCountFixture;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.model.board.Board;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.comment.dto.CommentDto;
+import ru.itone.model.epic.dto.EpicResponseDto;
+import ru.itone.model.task.dto.TaskDto;
+import ru.itone.model.user.Entitlement;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.User;
+import ru.itone.repository.EntitlementRepository;
+import ru.itone.service.epic.EpicService;
+import ru.itone.service.task.TaskService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверяет, что задачи и комментарии эпика не загружаются при изменении эпика,
+ * и количество загружаемых сущностей не зависит от размера эпика.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EpicWriteLoadCountTest {
+    private final EpicService epicService;
+    private final TaskService taskService;
+    private final EntitlementResolver entitlementResolver;
+    private final EntitlementRepository entitlementRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private StatementCountFixture fixture;
+    private User owner;
+    private Board board;
+
+    @BeforeEach
+    public void setUp() {
+        fixture = new StatementCountFixture(entityManager, entityManagerFactory);
+
+        owner = fixture.createUser("owner@example.com");
+        board = fixture.createBoard("Доска", List.of(owner));
+
+        entitlementRepository.save(new Entitlement(board, owner, EntitlementEnum.OWNER));
+
+        // Права доски загружаются в кэш заранее, чтобы первое измерение не включало их загрузку.
+        entityManager.flush();
+        entitlementResolver.getEntitlement(owner.getId(), board.getId());
+    }
+
+    @Test
+    public void checkThatWritesToAnEpicLoadTheSameNumberOfEntitiesForAnyEpicSize() {
+        Epic smallEpic = fixture.createEpic(board, 2, List.of(owner));
+        Epic largeEpic = fixture.createEpic(board, 40, List.of(owner));
+
+        assertEquals(
+                fixture.countLoadedEntities(() -> epicService.takeEpic(owner.getId(), smallEpic.getId())),
+                fixture.countLoadedEntities(() -> epicService.takeEpic(owner.getId(), largeEpic.getId()))
+        );
+        assertEquals(
+                fixture.countLoadedEntities(() -> epicService.createCommentByEpicId(owner.getId(), smallEpic.getId(), new CommentDto("Текст"))),
+                fixture.countLoadedEntities(() -> epicService.createCommentByEpicId(owner.getId(), largeEpic.getId(), new CommentDto("Текст")))
+        );
+        assertEquals(
+                fixture.countLoadedEntities(() -> taskService.createTaskById(owner.getId(), smallEpic.getId(), new TaskDto("Задача"))),
+                fixture.countLoadedEntities(() -> taskService.createTaskById(owner.getId(), largeEpic.getId(), new TaskDto("Задача")))
+        );
+    }
+
+    @Test
+    public void checkThatFindEpicByIdStillReturnsTasksAndCommentsWithAuthors() {
+        Epic epic = fixture.createEpic(board, 3, List.of(owner));
+        entityManager.flush();
+        entityManager.clear();
+
+        EpicResponseDto result = epicService.findEpicById(epic.getId());
+
+        assertEquals(3, result.getTasks().size());
+        assertEquals(3, result.getActivity().size());
+        assertEquals(owner.getEmail(), result.getActivity().get(0).getAuthor().getEmail());
+    }
+}
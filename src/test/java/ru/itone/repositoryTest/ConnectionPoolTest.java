@@ -0,0 +1,58 @@
+package ru.itone.repositoryTest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что пул соединений настроен из application.properties и публикует метрики загрузки и ожидания.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+public class ConnectionPoolTest {
+    private static final String POOL_NAME = "task-tracker-pool";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    public void checkThatThePoolIsConfiguredFromTheApplicationProperties() throws SQLException {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals(POOL_NAME, pool.getPoolName());
+        assertEquals(10, pool.getMaximumPoolSize());
+        assertEquals(10, pool.getMinimumIdle());
+        assertEquals(5000, pool.getConnectionTimeout());
+        assertEquals(30000, pool.getLeakDetectionThreshold());
+
+        String queryCacheSize = jdbcTemplate.queryForObject(
+                "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'QUERY_CACHE_SIZE'",
+                String.class
+        );
+        assertEquals("64", queryCacheSize);
+    }
+
+    @Test
+    public void checkThatThePoolPublishesSaturationWaitTimeAndUsageMetrics() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.max").tag("pool", POOL_NAME).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", POOL_NAME).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", POOL_NAME).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.timeout").tag("pool", POOL_NAME).counter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", POOL_NAME).timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").tag("pool", POOL_NAME).timer());
+    }
+}
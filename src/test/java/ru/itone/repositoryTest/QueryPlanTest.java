@@ -0,0 +1,146 @@
+package ru.itone.repositoryTest;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.repository.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Проверяет планы запросов репозиториев: каждый поиск по внешнему ключу должен использовать индекс из миграций схемы.
+ * SQL перехватывается при вызове метода репозитория и передаётся в EXPLAIN,
+ * поэтому тест падает, если изменение метода или схемы приводит к полному сканированию таблицы.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryPlanTest.StatementCaptureConfig.class)
+public class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+
+    private final UserRepository userRepository;
+    private final EntitlementRepository entitlementRepository;
+    private final InviteRepository inviteRepository;
+    private final EpicRepository epicRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final CapturingStatementInspector statementInspector;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID boardId = UUID.randomUUID();
+    private final UUID epicId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        statementInspector.clear();
+    }
+
+    @Test
+    public void checkThatUserLookupsUseIndexes() {
+        assertIndexed(() -> userRepository.findByEmail("email@example.com"));
+        assertIndexed(() -> userRepository.findLogonById(userId));
+    }
+
+    @Test
+    public void checkThatEntitlementLookupsUseIndexes() {
+        assertIndexed(() -> entitlementRepository.findByUserIdAndBoardId(userId, boardId));
+        assertIndexed(() -> entitlementRepository.findAllByBoardId(boardId));
+        assertIndexed(() -> entitlementRepository.findUserEntitlementsByBoardId(boardId));
+        assertIndexed(() -> entitlementRepository.findAllByUserIdAndEntitlement(userId, EntitlementEnum.OWNER));
+        assertIndexed(() -> entitlementRepository.deleteAllByBoardId(boardId));
+        assertIndexed(() -> entitlementRepository.deleteAllByUserId(userId));
+    }
+
+    @Test
+    public void checkThatInviteLookupsUseIndexes() {
+        assertIndexed(() -> inviteRepository.findAllByUserIdAndConfirmed(userId, false));
+        assertIndexed(() -> inviteRepository.findAllByBoardId(boardId));
+        assertIndexed(() -> inviteRepository.findByUserIdAndBoardId(userId, boardId));
+    }
+
+    @Test
+    public void checkThatEpicLookupsUseIndexes() {
+        assertIndexed(() -> epicRepository.findSummariesByBoardId(boardId, Cursor.FIRST_ID, PageRequest.of(0, 10)));
+        assertIndexed(() -> epicRepository.findByBoardIdAndIdGreaterThanOrderById(boardId, Cursor.FIRST_ID, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void checkThatTaskLookupsUseIndexes() {
+        assertIndexed(() -> taskRepository.findByEpicIdAndIdGreaterThanOrderById(epicId, Cursor.FIRST_ID, PageRequest.of(0, 10)));
+        assertIndexed(() -> taskRepository.findByEpicIdAndIdIn(epicId, Set.of(UUID.randomUUID())));
+        assertIndexed(() -> taskRepository.updateCompletedByEpicId(epicId, Set.of(UUID.randomUUID()), true));
+    }
+
+    @Test
+    public void checkThatCommentLookupsUseIndexes() {
+        assertIndexed(() -> commentRepository.findByEpicIdOrderByCreatedTimeDescIdDesc(epicId, PageRequest.of(0, 10)));
+        assertIndexed(() -> commentRepository.findByEpicIdBefore(epicId, LocalDateTime.now(), Cursor.FIRST_ID, PageRequest.of(0, 10)));
+        assertIndexed(() -> commentRepository.countByEpicIds(Set.of(epicId)));
+        assertIndexed(() -> commentRepository.findLatestByEpicIds(Set.of(epicId), 5));
+        assertIndexed(() -> commentRepository.deleteAllByAuthorId(userId));
+    }
+
+    private void assertIndexed(Runnable repositoryCall) {
+        statementInspector.clear();
+        repositoryCall.run();
+
+        for (String sql : statementInspector.getStatements()) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertFalse(plan.contains(TABLE_SCAN), "Запрос выполняется полным сканированием таблицы:\n" + plan);
+        }
+    }
+
+    static class CapturingStatementInspector implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> getStatements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector statementInspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.itone.repositoryTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itone.config.ReadWriteRoutingDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Проверяет маршрутизацию транзакций между основной базой данных и репликой.
+ * В качестве реплики используется отдельная база данных H2 в памяти, поэтому выбранный источник
+ * определяется по имени базы данных, в которой выполнен запрос.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {
+        "task-tracker.datasource.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "task-tracker.datasource.max-replica-lag=0s"
+})
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+    private static final String CURRENT_DATABASE = "SELECT DATABASE()";
+
+    private final DataSource dataSource;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    public void checkThatReadOnlyTransactionsAreRoutedToTheReplica() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        String database = transaction.execute(status -> jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class));
+
+        assertNotNull(routingDataSource);
+        assertEquals("REPLICA", database);
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "task-tracker-pool-replica-0").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "task-tracker-pool").timer());
+    }
+
+    @Test
+    public void checkThatReadWriteTransactionsAndStatementsOutsideTransactionsUseThePrimary() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        String database = transaction.execute(status -> jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class));
+
+        assertEquals("TESTDB", database);
+        assertEquals("TESTDB", new JdbcTemplate(dataSource).queryForObject(CURRENT_DATABASE, String.class));
+    }
+}
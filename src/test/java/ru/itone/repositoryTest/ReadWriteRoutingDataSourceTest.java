@@ -0,0 +1,141 @@
+package ru.itone.repositoryTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itone.config.ReadWriteRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReadWriteRoutingDataSourceTest {
+    private static final Duration MAX_REPLICA_LAG = Duration.ofSeconds(1);
+
+    private MutableClock clock;
+    private String currentUser;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock();
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                h2("routing_primary"),
+                List.of(h2("routing_replica_0"), h2("routing_replica_1")),
+                MAX_REPLICA_LAG,
+                clock,
+                () -> currentUser
+        );
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void checkThatReadOnlyTransactionsAlternateBetweenReplicas() {
+        assertEquals("ROUTING_REPLICA_0", readOnlyDatabase());
+        assertEquals("ROUTING_REPLICA_1", readOnlyDatabase());
+        assertEquals("ROUTING_REPLICA_0", readOnlyDatabase());
+    }
+
+    @Test
+    public void checkThatReadsUseThePrimaryWithinTheReplicaLagAfterAWrite() {
+        currentUser = "writer";
+
+        String written = readWriteTransaction.execute(status -> currentDatabase());
+        assertEquals("ROUTING_PRIMARY", written);
+
+        clock.advance(MAX_REPLICA_LAG.minusMillis(1));
+        assertEquals("ROUTING_PRIMARY", readOnlyDatabase());
+
+        clock.advance(Duration.ofMillis(1));
+        assertEquals("ROUTING_REPLICA_0", readOnlyDatabase());
+    }
+
+    @Test
+    public void checkThatAWriteSendsToThePrimaryOnlyTheReadsOfTheSameUser() {
+        currentUser = "writer";
+        readWriteTransaction.execute(status -> currentDatabase());
+
+        currentUser = "reader";
+        assertEquals("ROUTING_REPLICA_0", readOnlyDatabase());
+
+        currentUser = null;
+        assertEquals("ROUTING_REPLICA_1", readOnlyDatabase());
+
+        currentUser = "writer";
+        assertEquals("ROUTING_PRIMARY", readOnlyDatabase());
+    }
+
+    @Test
+    public void checkThatAWriteWithoutAUserDoesNotSendReadsToThePrimary() {
+        readWriteTransaction.execute(status -> currentDatabase());
+
+        currentUser = "reader";
+        assertEquals("ROUTING_REPLICA_0", readOnlyDatabase());
+    }
+
+    @Test
+    public void checkThatARolledBackWriteDoesNotSendReadsToThePrimary() {
+        currentUser = "writer";
+
+        readWriteTransaction.executeWithoutResult(status -> {
+            currentDatabase();
+            status.setRollbackOnly();
+        });
+
+        assertEquals("ROUTING_REPLICA_0", readOnlyDatabase());
+    }
+
+    private String readOnlyDatabase() {
+        return readOnlyTransaction.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ru.itone.repositoryTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.itone.cache.EntityCacheRegions;
+import ru.itone.model.board.Board;
+import ru.itone.model.board.dto.BoardDto;
+import ru.itone.model.epic.Epic;
+import ru.itone.model.epic.EpicStatus;
+import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.task.Task;
+import ru.itone.model.task.dto.TaskDto;
+import ru.itone.model.user.User;
+import ru.itone.model.user.dto.RegisterFormDto;
+import ru.itone.repository.BoardRepository;
+import ru.itone.repository.EpicRepository;
+import ru.itone.repository.TaskRepository;
+import ru.itone.repository.UserRepository;
+import ru.itone.service.user.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет кэш второго уровня Hibernate.
+ * Кэш заполняется и сбрасывается при фиксации транзакций, поэтому тесты не используют откат транзакции
+ * и удаляют созданные данные после себя.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+    private final BoardRepository boardRepository;
+    private final EpicRepository epicRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private User owner;
+    private User member;
+    private Board board;
+    private Epic epic;
+
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transaction.executeWithoutResult(status -> {
+            owner = userRepository.save(new User(new RegisterFormDto(
+                    "Владелец",
+                    "Фамилия",
+                    "cache-owner@example.com",
+                    "12345"
+            )));
+            member = userRepository.save(new User(new RegisterFormDto(
+                    "Участник",
+                    "Фамилия",
+                    "cache-member@example.com",
+                    "12345"
+            )));
+
+            Board newBoard = new Board(new BoardDto("Доска"));
+            newBoard.addUser(owner);
+            board = boardRepository.save(newBoard);
+
+            Epic newEpic = new Epic(new EpicDto("Эпик", "Описание", LocalDateTime.now().plusDays(1)), board);
+            newEpic.addUser(member);
+            epic = epicRepository.save(newEpic);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            boardRepository.removeById(board.getId());
+            userRepository.findById(member.getId()).ifPresent(userRepository::delete);
+            userRepository.findById(owner.getId()).ifPresent(userRepository::delete);
+        });
+    }
+
+    @Test
+    public void checkThatBoardEpicAndUserAreLoadedFromTheCacheAfterTheFirstLoad() {
+        loadBoardEpicAndUser();
+        statistics.clear();
+
+        loadBoardEpicAndUser();
+
+        for (String region : List.of(EntityCacheRegions.BOARD, EntityCacheRegions.EPIC, EntityCacheRegions.USER)) {
+            assertTrue(statistics.getDomainDataRegionStatistics(region).getHitCount() > 0, region);
+            assertEquals(0, statistics.getDomainDataRegionStatistics(region).getMissCount(), region);
+            assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", region).functionCounter());
+        }
+    }
+
+    @Test
+    public void checkThatDeletingABoardEvictsItsEpicsFromTheCache() {
+        loadBoardEpicAndUser();
+        assertTrue(entityManagerFactory.getCache().contains(Epic.class, epic.getId()));
+
+        transaction.executeWithoutResult(status -> boardRepository.removeById(board.getId()));
+
+        assertFalse(entityManagerFactory.getCache().contains(Epic.class, epic.getId()));
+        assertTrue(transaction.execute(status -> epicRepository.findById(epic.getId())).isEmpty());
+    }
+
+    @Test
+    public void checkThatTaskWritesUpdateTheCachedCountersOfTheirEpicAndKeepTheOtherEpicsCached() {
+        Epic other = transaction.execute(status -> epicRepository.save(
+                new Epic(new EpicDto("Другой эпик", "Описание", LocalDateTime.now().plusDays(1)), board)
+        ));
+        assertNotNull(other);
+
+        loadBoardEpicAndUser();
+        assertTrue(transaction.execute(status -> epicRepository.findById(other.getId())).isPresent());
+
+        Task task = transaction.execute(status -> {
+            Task saved = taskRepository.save(new Task(new TaskDto("Задача"), epicRepository.findById(epic.getId()).orElseThrow()));
+            epicRepository.updateTaskCounters(epic.getId(), 1, 0);
+            return saved;
+        });
+        assertNotNull(task);
+
+        transaction.executeWithoutResult(status -> {
+            taskRepository.updateCompleted(task.getId(), true);
+            epicRepository.updateTaskCounters(epic.getId(), 0, 1);
+        });
+
+        assertTrue(entityManagerFactory.getCache().contains(Epic.class, epic.getId()));
+        statistics.clear();
+
+        assertTrue(transaction.execute(status -> epicRepository.findById(other.getId())).isPresent());
+        assertEquals(0, statistics.getDomainDataRegionStatistics(EntityCacheRegions.EPIC).getMissCount());
+
+        Epic result = transaction.execute(status -> epicRepository.findById(epic.getId()).orElseThrow());
+
+        assertNotNull(result);
+        assertEquals(1, result.getTotalTasks());
+        assertEquals(1, result.getCompletedTasks());
+        assertEquals(EpicStatus.DONE, result.getStatus());
+    }
+
+    @Test
+    public void checkThatDeletingAUserEvictsItFromCachedEpicUsers() {
+        assertEquals(1, countEpicUsers(epic.getId()));
+
+        userService.deleteUserById(member.getId());
+
+        assertEquals(0, countEpicUsers(epic.getId()));
+    }
+
+    private void loadBoardEpicAndUser() {
+        transaction.executeWithoutResult(status -> {
+            assertTrue(boardRepository.findById(board.getId()).isPresent());
+            assertTrue(epicRepository.findById(epic.getId()).isPresent());
+            assertTrue(userRepository.findById(owner.getId()).isPresent());
+        });
+    }
+
+    private int countEpicUsers(UUID epicId) {
+        Integer count = transaction.execute(status -> epicRepository.findById(epicId)
+                .orElseThrow()
+                .getUsers()
+                .size());
+
+        assertNotNull(count);
+        return count;
+    }
+}
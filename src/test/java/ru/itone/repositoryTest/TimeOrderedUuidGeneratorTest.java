@@ -0,0 +1,46 @@
+package ru.itone.repositoryTest;
+
+import org.junit.jupiter.api.Test;
+import ru.itone.model.id.TimeOrderedUuidGenerator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    public void checkThatTheGeneratedIdHasVersion7AndTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(timestamp >= before, "Время в Id меньше времени создания");
+        assertTrue(timestamp <= after + 1, "Время в Id больше времени создания");
+    }
+
+    @Test
+    public void checkThatTheGeneratedIdsIncreaseAsBytesInTheOrderOfCreation() {
+        byte[] previous = toBytes(TimeOrderedUuidGenerator.next());
+
+        for (int i = 0; i < 10_000; i++) {
+            byte[] next = toBytes(TimeOrderedUuidGenerator.next());
+
+            assertTrue(Arrays.compareUnsigned(previous, next) < 0, "Id не возрастают в порядке создания");
+            previous = next;
+        }
+    }
+
+    private byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
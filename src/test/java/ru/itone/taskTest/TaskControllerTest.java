@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.itone.controller.TaskController;
 import ru.itone.filter.HttpLogonCheck;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.task.dto.TaskResponseDto;
 import ru.itone.service.task.TaskService;
@@ -19,12 +20,12 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = TaskController.class)
 public class TaskControllerTest {
@@ -55,15 +56,29 @@ public class TaskControllerTest {
     public void checkThatTheRequestFindTasksByEpicIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
                 .thenReturn(true);
-        when(service.findTasksByEpicId(any()))
-                .thenReturn(List.of(dto));
+        when(service.findTasksByEpicId(any(), isNull(), eq(10)))
+                .thenReturn(new CursorPage<>(List.of(dto), null));
 
         mvc.perform(get("/task/all/" + UUID.randomUUID())
                         .header("X-User-Id", UUID.randomUUID()))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id", is(dto.getId().toString()), String.class));
     }
 
+    @Test
+    public void checkThatTheRequestFindTasksByEpicIdReturnsBadRequestWithASizeAboveTheLimit() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+
+        mvc.perform(get("/task/all/" + UUID.randomUUID())
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("size", String.valueOf(CursorPage.MAX_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
     @Test
     public void checkThatTheRequestFindTaskByIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
@@ -96,6 +111,39 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(dto.getId().toString()), String.class));
     }
 
+    @Test
+    public void checkThatTheRequestCreateTasksInEpicIsSuccessfulWithTheCorrectParameters() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        when(service.createTasks(any(), any(), anyList()))
+                .thenReturn(List.of(dto, dto));
+
+        List<TaskDto> taskDtos = List.of(new TaskDto("Первая"), new TaskDto("Вторая"));
+
+        mvc.perform(post("/task/" + UUID.randomUUID() + "/batch")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .content(mapper.writeValueAsString(taskDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    public void checkThatTheRequestCreateTasksInEpicReturnsBadRequestWithAnEmptyList() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+
+        mvc.perform(post("/task/" + UUID.randomUUID() + "/batch")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void checkThatTheRequestUpdateTaskByIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
@@ -129,6 +177,24 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(dto.getId().toString()), String.class));
     }
 
+    @Test
+    public void checkThatTheRequestUpdateCompletedTasksIsSuccessfulWithTheCorrectParameters() throws Exception {
+        when(httpLogonCheck.preHandle(any(), any(), any()))
+                .thenReturn(true);
+        when(service.updateCompletedTasks(any(), any(), eq(List.of(dto.getId())), eq(true)))
+                .thenReturn(List.of(dto));
+
+        mvc.perform(patch("/task/" + UUID.randomUUID() + "/batch")
+                        .header("X-User-Id", UUID.randomUUID())
+                        .param("completed", "true")
+                        .content(mapper.writeValueAsString(List.of(dto.getId())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(dto.getId().toString()), String.class));
+    }
+
     @Test
     public void checkThatTheRequestDeleteTaskByIdIsSuccessfulWithTheCorrectParameters() throws Exception {
         when(httpLogonCheck.preHandle(any(), any(), any()))
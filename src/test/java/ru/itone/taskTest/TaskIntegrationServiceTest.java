@@ -13,6 +13,7 @@ import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.epic.Epic;
 import ru.itone.model.epic.EpicStatus;
 import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.task.dto.TaskResponseDto;
 import ru.itone.model.user.Entitlement;
@@ -20,10 +21,14 @@ import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
 import ru.itone.model.user.dto.RegisterFormDto;
 import ru.itone.repository.*;
+import ru.itone.service.epic.EpicTaskCountersRepairJob;
 import ru.itone.service.task.TaskService;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,6 +43,7 @@ public class TaskIntegrationServiceTest {
     private final TaskRepository taskRepository;
     private final EpicRepository epicRepository;
     private final BoardRepository boardRepository;
+    private final EpicTaskCountersRepairJob epicTaskCountersRepairJob;
 
     private UUID ownerId;
     private UUID epicId;
@@ -134,4 +140,82 @@ public class TaskIntegrationServiceTest {
                     .orElseThrow(() -> new TaskByIdNotFoundException(taskId));
         });
     }
+
+    @Test
+    public void checkThatTheTaskCountersDriftIsDetectedAndTheCountersAndTheEpicStatusAreRecomputedFromTheTasks() {
+        UUID taskId = service.createTaskById(ownerId, epicId, new TaskDto("Описание")).getId();
+        service.createTaskById(ownerId, epicId, new TaskDto("Описание"));
+        service.updateCompletedTask(ownerId, epicId, taskId, true);
+
+        assertEquals(0, epicTaskCountersRepairJob.repairTaskCounters());
+
+        epicRepository.updateTaskCounters(epicId, 3, 1);
+
+        Epic drifted = epicRepository.findById(epicId)
+                .orElseThrow();
+
+        assertEquals(5, drifted.getTotalTasks());
+        assertEquals(2, drifted.getCompletedTasks());
+
+        assertEquals(1, epicTaskCountersRepairJob.repairTaskCounters());
+
+        Epic result = epicRepository.findById(epicId)
+                .orElseThrow();
+
+        assertEquals(2, result.getTotalTasks());
+        assertEquals(1, result.getCompletedTasks());
+        assertEquals(EpicStatus.DOING, result.getStatus());
+    }
+
+    @Test
+    public void checkThatTheTasksAreCreatedAndCompletedInBatchesAndTheEpicCountersAreUpdatedOnce() {
+        List<TaskResponseDto> created = service.createTasks(ownerId, epicId, List.of(
+                new TaskDto("Первая"),
+                new TaskDto("Вторая"),
+                new TaskDto("Третья")
+        ));
+
+        assertEquals(3, created.size());
+        assertTrue(created.stream().allMatch(task -> task.getId() != null));
+
+        List<UUID> taskIds = created.stream()
+                .map(TaskResponseDto::getId)
+                .collect(Collectors.toList());
+
+        service.updateCompletedTasks(ownerId, epicId, taskIds.subList(0, 2), true);
+
+        Epic epic = epicRepository.findById(epicId)
+                .orElseThrow();
+
+        assertEquals(3, epic.getTotalTasks());
+        assertEquals(2, epic.getCompletedTasks());
+        assertEquals(EpicStatus.DOING, epic.getStatus());
+
+        List<TaskResponseDto> result = service.updateCompletedTasks(ownerId, epicId, taskIds, true);
+
+        epic = epicRepository.findById(epicId)
+                .orElseThrow();
+
+        assertTrue(result.stream().allMatch(TaskResponseDto::getIsCompleted));
+        assertEquals(3, epic.getCompletedTasks());
+        assertEquals(EpicStatus.DONE, epic.getStatus());
+    }
+
+    @Test
+    public void checkThatTheTasksAreListedInTheOrderOfCreationAcrossPages() {
+        List<String> descriptions = List.of("Первая", "Вторая", "Третья", "Четвёртая", "Пятая");
+        for (String description : descriptions) {
+            service.createTaskById(ownerId, epicId, new TaskDto(description));
+        }
+
+        CursorPage<TaskResponseDto> firstPage = service.findTasksByEpicId(epicId, null, 3);
+        CursorPage<TaskResponseDto> secondPage = service.findTasksByEpicId(epicId, firstPage.getNextCursor(), 3);
+
+        List<String> result = Stream.concat(firstPage.getItems().stream(), secondPage.getItems().stream())
+                .map(TaskResponseDto::getDescription)
+                .collect(Collectors.toList());
+
+        assertEquals(descriptions, result);
+        assertNull(secondPage.getNextCursor());
+    }
 }
@@ -6,11 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.exception.task.TaskByIdNotFoundException;
 import ru.itone.model.board.Board;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.epic.Epic;
-import ru.itone.model.epic.EpicStatus;
 import ru.itone.model.epic.dto.EpicDto;
+import ru.itone.model.pagination.Cursor;
+import ru.itone.model.pagination.CursorPage;
 import ru.itone.model.task.Task;
 import ru.itone.model.task.dto.TaskDto;
 import ru.itone.model.task.dto.TaskResponseDto;
@@ -18,7 +22,6 @@ import ru.itone.model.user.Entitlement;
 import ru.itone.model.user.EntitlementEnum;
 import ru.itone.model.user.User;
 import ru.itone.model.user.dto.RegisterFormDto;
-import ru.itone.repository.EntitlementRepository;
 import ru.itone.repository.EpicRepository;
 import ru.itone.repository.TaskRepository;
 import ru.itone.repository.UserRepository;
@@ -27,10 +30,13 @@ import ru.itone.service.task.TaskServiceImpl;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +44,6 @@ public class TaskServiceTest {
     @InjectMocks
     private TaskServiceImpl service;
 
-    @Mock
-    private EntitlementRepository entitlementRepository;
-
     @Mock
     private UserRepository userRepository;
 
@@ -50,6 +53,9 @@ public class TaskServiceTest {
     @Mock
     private EpicRepository epicRepository;
 
+    @Mock
+    private EntitlementResolver entitlementResolver;
+
     private User user;
     private UUID userId;
 
@@ -116,12 +122,15 @@ public class TaskServiceTest {
 
     @Test
     public void checkThatTheServiceMethodFindTasksByEpicIdReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
-        when(epicRepository.findById(epicId))
-                .thenReturn(Optional.of(epic));
+        when(epicRepository.existsById(epicId))
+                .thenReturn(true);
+        when(taskRepository.findByEpicIdAndIdGreaterThanOrderById(epicId, Cursor.FIRST_ID, PageRequest.of(0, 11)))
+                .thenReturn(List.of(task));
 
-        List<TaskResponseDto> result = service.findTasksByEpicId(epicId);
+        CursorPage<TaskResponseDto> result = service.findTasksByEpicId(epicId, null, 10);
 
-        assertEquals(taskId, result.get(0).getId());
+        assertEquals(taskId, result.getItems().get(0).getId());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -138,24 +147,44 @@ public class TaskServiceTest {
     public void checkThatTheServiceMethodCreateTaskByIdReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
         when(epicRepository.findById(epicId))
                 .thenReturn(Optional.of(epic));
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(taskRepository.save(any(Task.class)))
                 .thenReturn(task);
-        when(epicRepository.save(any(Epic.class)))
-                .thenReturn(epic);
+        when(epicRepository.updateTaskCounters(epicId, 1, 0))
+                .thenReturn(1);
 
         TaskResponseDto result = service.createTaskById(userId, epicId, taskDto);
 
         assertEquals(taskId, result.getId());
+        verify(epicRepository, atLeastOnce()).updateTaskCounters(epicId, 1, 0);
+    }
+
+    @Test
+    public void checkThatTheServiceMethodCreateTasksReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
+        when(taskRepository.saveAll(anyList()))
+                .thenReturn(List.of(task, task));
+        when(epicRepository.updateTaskCounters(epicId, 2, 0))
+                .thenReturn(1);
+
+        List<TaskResponseDto> result = service.createTasks(userId, epicId, List.of(taskDto, taskDto));
+
+        assertEquals(2, result.size());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(epicRepository, times(1)).updateTaskCounters(epicId, 2, 0);
+        verify(entitlementResolver, times(1)).getEntitlement(userId, boardId);
     }
 
     @Test
     public void checkThatTheServiceMethodUpdateTaskByIdReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
         when(taskRepository.findById(taskId))
                 .thenReturn(Optional.of(task));
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
         when(taskRepository.save(any(Task.class)))
                 .thenReturn(task);
 
@@ -172,24 +201,60 @@ public class TaskServiceTest {
                 .thenReturn(Optional.of(task));
         when(epicRepository.findById(epicId))
                 .thenReturn(Optional.of(epic));
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
-
-        task.setIsCompleted(true);
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
 
-        when(taskRepository.save(task))
-                .thenReturn(task);
-
-        epic.setStatus(EpicStatus.DONE);
-
-        when(epicRepository.save(epic))
-                .thenReturn(epic);
+        when(taskRepository.updateCompleted(taskId, true))
+                .thenReturn(1);
+        when(epicRepository.updateTaskCounters(epicId, 0, 1))
+                .thenReturn(1);
 
         TaskResponseDto result = service.updateCompletedTask(userId, epicId, taskId, true);
 
         assertEquals(taskId, result.getId());
         assertEquals(true, result.getIsCompleted());
-        verify(epicRepository, atLeastOnce()).save(epic);
+        verify(epicRepository, atLeastOnce()).updateTaskCounters(epicId, 0, 1);
+    }
+
+    @Test
+    public void checkThatTheServiceMethodUpdateCompletedTasksReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user));
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
+        when(taskRepository.findByEpicIdAndIdIn(epicId, Set.of(taskId)))
+                .thenReturn(List.of(task));
+        when(taskRepository.updateCompletedByEpicId(epicId, Set.of(taskId), true))
+                .thenReturn(1);
+        when(epicRepository.updateTaskCounters(epicId, 0, 1))
+                .thenReturn(1);
+
+        List<TaskResponseDto> result = service.updateCompletedTasks(userId, epicId, List.of(taskId, taskId), true);
+
+        assertEquals(1, result.size());
+        assertEquals(true, result.get(0).getIsCompleted());
+        verify(epicRepository, times(1)).updateTaskCounters(epicId, 0, 1);
+    }
+
+    @Test
+    public void checkThatTheServiceMethodUpdateCompletedTasksThrowsWhenTheTaskIsNotFoundInTheEpic() {
+        UUID missingTaskId = UUID.randomUUID();
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user));
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
+        when(taskRepository.findByEpicIdAndIdIn(epicId, Set.of(taskId, missingTaskId)))
+                .thenReturn(List.of(task));
+
+        assertThrows(TaskByIdNotFoundException.class,
+                () -> service.updateCompletedTasks(userId, epicId, List.of(taskId, missingTaskId), true));
+        verify(taskRepository, never()).updateCompletedByEpicId(any(), any(), any());
+        verify(epicRepository, never()).updateTaskCounters(any(), anyInt(), anyInt());
     }
 
     @Test
@@ -198,22 +263,20 @@ public class TaskServiceTest {
                 .thenReturn(Optional.of(epic));
         when(taskRepository.findById(taskId))
                 .thenReturn(Optional.of(task));
-        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
-                .thenReturn(Optional.of(entitlement));
-
-        epic.getTasks().remove(task);
-        epic.setStatus(EpicStatus.TODO);
+        when(entitlementResolver.getEntitlement(userId, boardId))
+                .thenReturn(entitlement.getEntitlement());
 
-        when(epicRepository.save(epic))
-                .thenReturn(epic);
-        doNothing().when(taskRepository).deleteById(taskId);
+        when(taskRepository.removeById(taskId))
+                .thenReturn(1);
+        when(epicRepository.updateTaskCounters(epicId, -1, 0))
+                .thenReturn(1);
 
         service.deleteTaskById(userId, epicId, taskId);
 
         verify(epicRepository, atLeastOnce()).findById(epicId);
         verify(taskRepository, atLeastOnce()).findById(taskId);
-        verify(entitlementRepository, atLeastOnce()).findByUserIdAndBoardId(userId, boardId);
-        verify(epicRepository, atLeastOnce()).save(epic);
-        verify(taskRepository, atLeastOnce()).deleteById(taskId);
+        verify(entitlementResolver, atLeastOnce()).getEntitlement(userId, boardId);
+        verify(taskRepository, atLeastOnce()).removeById(taskId);
+        verify(epicRepository, atLeastOnce()).updateTaskCounters(epicId, -1, 0);
     }
 }
@@ -0,0 +1,137 @@
+package ru.itone.userTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.config.CacheProperties;
+import ru.itone.exception.user.UserRightsByUserIdAndBoardIdNotFoundException;
+import ru.itone.model.user.Entitlement;
+import ru.itone.model.user.EntitlementEnum;
+import ru.itone.model.user.UserEntitlementView;
+import ru.itone.repository.EntitlementRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EntitlementResolverTest {
+    @Mock
+    private EntitlementRepository entitlementRepository;
+
+    private EntitlementResolver resolver;
+
+    private UUID ownerId;
+    private UUID userId;
+    private UUID boardId;
+
+    @BeforeEach
+    public void setUp() {
+        resolver = new EntitlementResolver(entitlementRepository, new CacheProperties(), new SimpleMeterRegistry());
+        ownerId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        boardId = UUID.randomUUID();
+    }
+
+    @Test
+    public void checkThatTheEntitlementsOfTheBoardAreLoadedWithOneQueryAndThenServedFromTheCache() {
+        when(entitlementRepository.findUserEntitlementsByBoardId(boardId))
+                .thenReturn(List.of(view(ownerId, EntitlementEnum.OWNER), view(userId, EntitlementEnum.EDITOR)));
+
+        assertEquals(EntitlementEnum.OWNER, resolver.getEntitlement(ownerId, boardId));
+        assertEquals(EntitlementEnum.EDITOR, resolver.getEntitlement(userId, boardId));
+        assertEquals(EntitlementEnum.OWNER, resolver.getEntitlement(ownerId, boardId));
+
+        verify(entitlementRepository, times(1)).findUserEntitlementsByBoardId(boardId);
+        verify(entitlementRepository, never()).findByUserIdAndBoardId(any(), any());
+    }
+
+    @Test
+    public void checkThatTheCreatedBoardAndTheChangedEntitlementsAreWrittenThroughWithoutAccessingTheRepository() {
+        resolver.boardCreated(boardId, ownerId);
+        resolver.entitlementChanged(boardId, userId, EntitlementEnum.ADMIN);
+
+        assertEquals(EntitlementEnum.OWNER, resolver.getEntitlement(ownerId, boardId));
+        assertEquals(EntitlementEnum.ADMIN, resolver.getEntitlement(userId, boardId));
+
+        verifyNoInteractions(entitlementRepository);
+    }
+
+    @Test
+    public void checkThatTheDeletedBoardAndTheDeletedUserAreRemovedFromTheCache() {
+        resolver.boardCreated(boardId, ownerId);
+        resolver.userDeleted(ownerId);
+
+        when(entitlementRepository.findByUserIdAndBoardId(ownerId, boardId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UserRightsByUserIdAndBoardIdNotFoundException.class,
+                () -> resolver.getEntitlement(ownerId, boardId));
+
+        resolver.boardDeleted(boardId);
+
+        when(entitlementRepository.findUserEntitlementsByBoardId(boardId))
+                .thenReturn(List.of());
+
+        assertThrows(UserRightsByUserIdAndBoardIdNotFoundException.class,
+                () -> resolver.getEntitlement(ownerId, boardId));
+
+        verify(entitlementRepository, times(1)).findUserEntitlementsByBoardId(boardId);
+    }
+
+    @Test
+    public void checkThatTheEntitlementsLoadedBeforeAConcurrentChangeAreNotCached() {
+        when(entitlementRepository.findUserEntitlementsByBoardId(boardId))
+                .thenAnswer(invocation -> {
+                    // Права отзываются и фиксируются, пока загрузка прочитанных до этого прав ещё не завершена.
+                    resolver.entitlementChanged(boardId, userId, EntitlementEnum.USER);
+                    return List.of(view(ownerId, EntitlementEnum.OWNER), view(userId, EntitlementEnum.EDITOR));
+                })
+                .thenReturn(List.of(view(ownerId, EntitlementEnum.OWNER), view(userId, EntitlementEnum.USER)));
+
+        assertEquals(EntitlementEnum.EDITOR, resolver.getEntitlement(userId, boardId));
+        assertEquals(EntitlementEnum.USER, resolver.getEntitlement(userId, boardId));
+        assertEquals(EntitlementEnum.USER, resolver.getEntitlement(userId, boardId));
+
+        verify(entitlementRepository, times(2)).findUserEntitlementsByBoardId(boardId);
+    }
+
+    @Test
+    public void checkThatAUserMissingFromTheCachedBoardIsCheckedInTheRepositoryAndTheBoardIsReloaded() {
+        resolver.boardCreated(boardId, ownerId);
+
+        when(entitlementRepository.findByUserIdAndBoardId(userId, boardId))
+                .thenReturn(Optional.of(new Entitlement(null, null, EntitlementEnum.EDITOR)));
+        when(entitlementRepository.findUserEntitlementsByBoardId(boardId))
+                .thenReturn(List.of(view(ownerId, EntitlementEnum.OWNER), view(userId, EntitlementEnum.EDITOR)));
+
+        assertEquals(EntitlementEnum.EDITOR, resolver.getEntitlement(userId, boardId));
+        assertEquals(EntitlementEnum.EDITOR, resolver.getEntitlement(userId, boardId));
+        assertEquals(EntitlementEnum.EDITOR, resolver.getEntitlement(userId, boardId));
+
+        verify(entitlementRepository, times(1)).findByUserIdAndBoardId(userId, boardId);
+        verify(entitlementRepository, times(1)).findUserEntitlementsByBoardId(boardId);
+    }
+
+    private UserEntitlementView view(UUID userId, EntitlementEnum entitlement) {
+        return new UserEntitlementView() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public EntitlementEnum getEntitlement() {
+                return entitlement;
+            }
+        };
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.itone.cache.UserSessionCache;
 import ru.itone.exception.user.UserByIdNotFoundException;
 import ru.itone.exception.user.UserRightsByUserIdAndBoardIdNotFoundException;
 import ru.itone.model.board.Board;
@@ -21,6 +23,7 @@ import ru.itone.repository.*;
 import ru.itone.service.board.BoardService;
 import ru.itone.service.user.UserService;
 
+import javax.persistence.EntityManager;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +40,8 @@ public class UserIntegrationServiceTest {
     private final BoardRepository boardRepository;
     private final EntitlementRepository entitlementRepository;
     private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final UserSessionCache userSessionCache;
 
     private UUID ownerId;
     private UUID boardId;
@@ -118,6 +123,29 @@ public class UserIntegrationServiceTest {
         assertEquals(false, result.getLogon());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkThatTheLogonCheckAfterTheCommittedLogoutReturnsFalse() {
+        RegisterFormDto registerFormDto = new RegisterFormDto(
+                "Имя",
+                "Фамилия",
+                "email@example.com",
+                "12345"
+        );
+        UUID userId = service.registerUser(registerFormDto).getId();
+
+        try {
+            assertTrue(userSessionCache.isLogon(userId));
+
+            service.logout(userId);
+
+            assertFalse(userSessionCache.isLogon(userId));
+        } finally {
+            service.deleteUserById(userId);
+            service.deleteUserById(ownerId);
+        }
+    }
+
     @Test
     public void checkThatTheAcceptanceOfTheInvitationToTheBoardIsCorrectAndTheUserIsListedOnTheBoard() {
         RegisterFormDto registerFormDto = new RegisterFormDto(
@@ -173,4 +201,35 @@ public class UserIntegrationServiceTest {
                     .orElseThrow(() -> new UserRightsByUserIdAndBoardIdNotFoundException(ownerId, boardId));
         });
     }
+
+    @Test
+    public void checkThatAMemberOfTheBoardWithAPendingInvitationToAnotherBoardIsDeletedCorrectly() {
+        RegisterFormDto registerFormDto = new RegisterFormDto(
+                "Имя",
+                "Фамилия",
+                "email@example.com",
+                "12345"
+        );
+        UUID userId = service.registerUser(registerFormDto).getId();
+
+        boardService.inviteUser(ownerId, boardId, userId);
+
+        service.confirmInvite(userId, boardId);
+
+        UUID otherBoardId = boardService.createBoard(ownerId, new BoardDto("Другая Доска")).getId();
+        boardService.inviteUser(ownerId, otherBoardId, userId);
+
+        service.deleteUserById(userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow();
+
+        assertEquals(1, board.getUsers().size());
+        assertTrue(userRepository.findById(userId).isEmpty());
+        assertTrue(inviteRepository.findByUserIdAndBoardId(userId, boardId).isEmpty());
+        assertTrue(inviteRepository.findByUserIdAndBoardId(userId, otherBoardId).isEmpty());
+        assertTrue(entitlementRepository.findByUserIdAndBoardId(userId, boardId).isEmpty());
+    }
 }
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.itone.cache.EntitlementResolver;
+import ru.itone.cache.UserSessionCache;
 import ru.itone.model.board.Board;
 import ru.itone.model.board.dto.BoardDto;
 import ru.itone.model.board.dto.BoardResponseDto;
@@ -19,6 +21,7 @@ import ru.itone.model.user.dto.UserDto;
 import ru.itone.model.user.dto.UserResponseDto;
 import ru.itone.repository.*;
 import ru.itone.service.board.BoardService;
+import ru.itone.service.epic.EpicActivityLoader;
 import ru.itone.service.user.UserServiceImpl;
 
 import java.util.List;
@@ -52,6 +55,15 @@ public class UserServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private UserSessionCache userSessionCache;
+
+    @Mock
+    private EntitlementResolver entitlementResolver;
+
+    @Mock
+    private EpicActivityLoader epicActivityLoader;
+
     private RegisterFormDto registerFormDto;
     private User user;
     private UUID userId;
@@ -148,6 +160,7 @@ public class UserServiceTest {
         UserResponseDto result = service.logout(userId);
 
         assertEquals(userId, result.getId());
+        verify(userSessionCache, atLeastOnce()).invalidate(userId);
     }
 
     @Test
@@ -175,6 +188,19 @@ public class UserServiceTest {
         verify(boardRepository, atLeastOnce()).save(any(Board.class));
     }
 
+    @Test
+    public void checkThatTheServiceMethodConfirmInviteDoesNothingIfTheInviteIsAlreadyConfirmed() {
+        invite.setConfirmed(true);
+
+        when(inviteRepository.findByUserIdAndBoardId(userId, boardId))
+                .thenReturn(Optional.of(invite));
+
+        service.confirmInvite(userId, boardId);
+
+        verify(entitlementRepository, never()).save(any(Entitlement.class));
+        verify(boardRepository, never()).save(any(Board.class));
+    }
+
     @Test
     public void checkThatTheServiceMethodUpdateUserByIdReturnsDataCorrectlyWithTheParametersPassedCorrectly() {
         when(userRepository.findById(userId))
@@ -208,6 +234,7 @@ public class UserServiceTest {
         doNothing().when(boardService).deleteBoardById(userId, boardId);
         doNothing().when(entitlementRepository).deleteAllByUserId(userId);
         doNothing().when(commentRepository).deleteAllByAuthorId(userId);
+        doNothing().when(userRepository).removeFromAllEpics(userId);
         doNothing().when(userRepository).deleteById(userId);
 
         service.deleteUserById(userId);
@@ -219,7 +246,10 @@ public class UserServiceTest {
         verify(boardRepository, atLeastOnce()).save(any(Board.class));
         verify(boardService, atLeastOnce()).deleteBoardById(userId, boardId);
         verify(entitlementRepository, atLeastOnce()).deleteAllByUserId(userId);
+        verify(inviteRepository, atLeastOnce()).deleteAllByUserId(userId);
         verify(commentRepository, atLeastOnce()).deleteAllByAuthorId(userId);
+        verify(userRepository, atLeastOnce()).removeFromAllBoards(userId);
+        verify(userRepository, atLeastOnce()).removeFromAllEpics(userId);
         verify(userRepository, atLeastOnce()).deleteById(userId);
     }
 }
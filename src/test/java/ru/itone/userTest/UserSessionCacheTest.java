@@ -0,0 +1,103 @@
+package ru.itone.userTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.itone.cache.UserSessionCache;
+import ru.itone.config.CacheProperties;
+import ru.itone.exception.user.UserByIdNotFoundException;
+import ru.itone.repository.UserRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserSessionCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserSessionCache cache;
+
+    private UUID userId;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserSessionCache(userRepository, new CacheProperties(), meterRegistry);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    public void checkThatTheRepeatedLogonCheckIsServedFromTheCacheWithoutAccessingTheRepository() {
+        when(userRepository.findLogonById(userId))
+                .thenReturn(Optional.of(true));
+
+        assertTrue(cache.isLogon(userId));
+        assertTrue(cache.isLogon(userId));
+
+        verify(userRepository, times(1)).findLogonById(userId);
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", UserSessionCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    public void checkThatAfterInvalidationTheLogonFlagIsReloadedFromTheRepository() {
+        when(userRepository.findLogonById(userId))
+                .thenReturn(Optional.of(true))
+                .thenReturn(Optional.of(false));
+
+        assertTrue(cache.isLogon(userId));
+
+        cache.invalidate(userId);
+
+        assertFalse(cache.isLogon(userId));
+        verify(userRepository, times(2)).findLogonById(userId);
+    }
+
+    @Test
+    public void checkThatAnUnknownUserIsNotCachedAndTheExceptionIsThrown() {
+        when(userRepository.findLogonById(userId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UserByIdNotFoundException.class, () -> cache.isLogon(userId));
+        assertThrows(UserByIdNotFoundException.class, () -> cache.isLogon(userId));
+
+        verify(userRepository, times(2)).findLogonById(userId);
+    }
+
+    @Test
+    public void checkThatTheLogonFlagReloadedBeforeTheLogoutIsCommittedIsDroppedAfterTheCommit() {
+        when(userRepository.findLogonById(userId))
+                .thenReturn(Optional.of(true))
+                .thenReturn(Optional.of(false));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(userId);
+
+            // Параллельный запрос перечитывает ещё не изменённую строку до фиксации выхода.
+            assertTrue(cache.isLogon(userId));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(cache.isLogon(userId));
+        assertFalse(cache.isLogon(userId));
+        verify(userRepository, times(2)).findLogonById(userId);
+    }
+}